@@ -0,0 +1,69 @@
+package com.sahibinden.pages;
+
+import com.sahibinden.listing.ListingSnapshot;
+import com.sahibinden.listing.TurkishPriceParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingVerificationBenchmark {
+    private static final String[] TITLES = {
+        "Apple iPhone 13 128 GB", "Apple iPhone 12 64 GB", "iPhone 11 Pro 256 GB", "Apple iPhone SE 2022 64 GB"};
+
+    @Param({"20", "200"})
+    public int listingSize;
+
+    private ListingSnapshot ascendingPrices;
+    private ListingSnapshot descendingPrices;
+
+    @Setup
+    public void prepare() {
+        ListingSnapshot.Builder ascending = ListingSnapshot.builder(listingSize);
+        ListingSnapshot.Builder descending = ListingSnapshot.builder(listingSize);
+        for (int i = 0; i < listingSize; i++) {
+            ascending.add(TITLES[i % TITLES.length], (5_000L + i * 250L) * 100);
+            descending.add(TITLES[i % TITLES.length], (5_000L + (listingSize - i) * 250L) * 100);
+        }
+        ascendingPrices = ascending.build();
+        descendingPrices = descending.build();
+    }
+
+    @Benchmark
+    public int firstOutOfOrderLowToHigh() {
+        return ascendingPrices.firstOutOfOrder(YepyFilterPage.SortOrder.LOW_TO_HIGH.toListingSort(), TurkishPriceParser.INVALID);
+    }
+
+    @Benchmark
+    public int firstOutOfOrderHighToLow() {
+        return descendingPrices.firstOutOfOrder(YepyFilterPage.SortOrder.HIGH_TO_LOW.toListingSort(), TurkishPriceParser.INVALID);
+    }
+
+    @Benchmark
+    public boolean verifyPhoneBrands() {
+        return YepyProductPage.verifyPhoneBrands(ascendingPrices);
+    }
+
+    @Benchmark
+    public void isApplePhone(Blackhole blackhole) {
+        for (int i = 0; i < ascendingPrices.size(); i++) {
+            blackhole.consume(YepyProductPage.isApplePhone(ascendingPrices.title(i).toLowerCase()));
+        }
+    }
+}
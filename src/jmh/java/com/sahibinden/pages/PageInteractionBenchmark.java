@@ -0,0 +1,97 @@
+package com.sahibinden.pages;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.net.URISyntaxException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Browser-bound paths of {@link BasePage}, measured in headless Chrome against a static local page so
+ * the numbers reflect framework and WebDriver round-trip cost rather than site latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageInteractionBenchmark {
+
+    static class BenchmarkPage extends BasePage {
+        BenchmarkPage(WebDriver driver) {
+            super(driver);
+        }
+    }
+
+    private WebDriver driver;
+    private BenchmarkPage page;
+    private String pageUrl;
+    private WebElement visibleText;
+    private WebElement inputValue;
+    private WebElement hiddenText;
+
+    @Setup(Level.Trial)
+    public void startBrowser() throws URISyntaxException {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage");
+        driver = new ChromeDriver(options);
+        page = new BenchmarkPage(driver);
+        page.settleQuietWindowMillis = 50;
+        pageUrl = Objects.requireNonNull(getClass().getClassLoader().getResource("benchmark/page.html")).toURI().toString();
+        driver.get(pageUrl);
+
+        visibleText = driver.findElement(By.id("visibleText"));
+        inputValue = driver.findElement(By.id("inputValue"));
+        hiddenText = driver.findElement(By.id("hiddenText"));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBrowser() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public String getElementTextFromText() {
+        return page.getElementText(visibleText);
+    }
+
+    @Benchmark
+    public String getElementTextFromValue() {
+        return page.getElementText(inputValue);
+    }
+
+    @Benchmark
+    public String getElementTextFromTextContent() {
+        return page.getElementText(hiddenText);
+    }
+
+    @Benchmark
+    public void waitForPageLoadAfterNavigation() {
+        driver.get(pageUrl);
+        page.waitForPageLoad();
+    }
+
+    @Benchmark
+    public void waitForPageLoadOnSettledPage() {
+        page.waitForPageLoad();
+    }
+}
@@ -0,0 +1,79 @@
+package com.sahibinden.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && remainingOpenNanos() <= 0) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            logger.info("Circuit '{}' half-open, allowing a trial request", name);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Circuit '{}' closed after successful request", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+            logger.warn("Circuit '{}' opened after {} consecutive failures, retrying in {}s",
+                name, consecutiveFailures, openDuration.toSeconds());
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Duration getRemainingOpenTime() {
+        return state == State.OPEN ? Duration.ofNanos(Math.max(0, remainingOpenNanos())) : Duration.ZERO;
+    }
+
+    private long remainingOpenNanos() {
+        return openDuration.toNanos() - (System.nanoTime() - openedAtNanos);
+    }
+}
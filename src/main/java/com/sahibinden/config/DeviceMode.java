@@ -0,0 +1,23 @@
+package com.sahibinden.config;
+
+import java.util.Locale;
+
+public enum DeviceMode {
+    DESKTOP,
+    MOBILE;
+
+    public boolean isMobile() {
+        return this == MOBILE;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static DeviceMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DESKTOP;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,279 @@
+package com.sahibinden.config;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits remote session requests against the grid's slot capacity. Waiters queue locally
+ * (FIFO per owner, round-robin across owners) so no HTTP request reaches the hub until a slot is free.
+ */
+public class GridSlotScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(GridSlotScheduler.class);
+
+    public static class QueueWaitStats {
+        private long admitted;
+        private long queued;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        public long getAdmitted() {
+            return admitted;
+        }
+
+        public long getQueued() {
+            return queued;
+        }
+
+        public long getTotalWaitMillis() {
+            return Duration.ofNanos(totalWaitNanos).toMillis();
+        }
+
+        public long getMaxWaitMillis() {
+            return Duration.ofNanos(maxWaitNanos).toMillis();
+        }
+
+        private QueueWaitStats copy() {
+            QueueWaitStats copy = new QueueWaitStats();
+            copy.admitted = admitted;
+            copy.queued = queued;
+            copy.totalWaitNanos = totalWaitNanos;
+            copy.maxWaitNanos = maxWaitNanos;
+            return copy;
+        }
+    }
+
+    private static class Ticket {
+        private final Condition admitted;
+        private boolean granted;
+
+        Ticket(Condition admitted) {
+            this.admitted = admitted;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ArrayDeque<Ticket>> queues = new LinkedHashMap<>();
+    private final ArrayDeque<String> rotation = new ArrayDeque<>();
+    private final Map<String, QueueWaitStats> stats = new LinkedHashMap<>();
+    private int capacity;
+    private int inUse;
+
+    public GridSlotScheduler(int capacity) {
+        setCapacity(capacity);
+    }
+
+    public void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Grid capacity must be at least 1, got " + capacity);
+        }
+        lock.lock();
+        try {
+            this.capacity = capacity;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Grid slot capacity set to {}", capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void acquire(String owner, Duration timeout) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (inUse < capacity && rotation.isEmpty()) {
+                inUse++;
+                record(owner, 0, false);
+                return;
+            }
+
+            Ticket ticket = new Ticket(lock.newCondition());
+            enqueue(owner, ticket);
+            logger.info("Grid full ({}/{} slots), {} queued locally for a slot", inUse, capacity, owner);
+
+            long remaining = timeout.toNanos();
+            try {
+                while (!ticket.granted) {
+                    if (remaining <= 0) {
+                        remove(owner, ticket);
+                        throw new IllegalStateException("Timed out after " + timeout.toSeconds()
+                            + "s waiting for a grid slot for " + owner);
+                    }
+                    remaining = ticket.admitted.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (ticket.granted) {
+                    inUse--;
+                    dispatch();
+                } else {
+                    remove(owner, ticket);
+                }
+                throw new IllegalStateException("Interrupted while waiting for a grid slot for " + owner, e);
+            }
+            record(owner, System.nanoTime() - start, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            if (inUse > 0) {
+                inUse--;
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInUse() {
+        lock.lock();
+        try {
+            return inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queues.values().stream().mapToInt(ArrayDeque::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, QueueWaitStats> getQueueWaitStats() {
+        lock.lock();
+        try {
+            Map<String, QueueWaitStats> snapshot = new LinkedHashMap<>();
+            stats.forEach((owner, value) -> snapshot.put(owner, value.copy()));
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void logQueueWaitStats() {
+        getQueueWaitStats().forEach((owner, value) -> logger.info(
+            "Grid admission for {} - admitted: {}, queued: {}, total wait: {} ms, max wait: {} ms",
+            owner, value.getAdmitted(), value.getQueued(), value.getTotalWaitMillis(), value.getMaxWaitMillis()));
+    }
+
+    private void enqueue(String owner, Ticket ticket) {
+        ArrayDeque<Ticket> queue = queues.get(owner);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            queues.put(owner, queue);
+            rotation.addLast(owner);
+        }
+        queue.addLast(ticket);
+    }
+
+    private void remove(String owner, Ticket ticket) {
+        ArrayDeque<Ticket> queue = queues.get(owner);
+        if (queue != null && queue.remove(ticket) && queue.isEmpty()) {
+            queues.remove(owner);
+            rotation.remove(owner);
+        }
+    }
+
+    private void dispatch() {
+        while (inUse < capacity && !rotation.isEmpty()) {
+            String owner = rotation.pollFirst();
+            ArrayDeque<Ticket> queue = queues.get(owner);
+            Ticket ticket = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(owner);
+            } else {
+                rotation.addLast(owner);
+            }
+            ticket.granted = true;
+            inUse++;
+            ticket.admitted.signal();
+        }
+    }
+
+    private void record(String owner, long waitNanos, boolean queued) {
+        QueueWaitStats value = stats.computeIfAbsent(owner, key -> new QueueWaitStats());
+        value.admitted++;
+        if (queued) {
+            value.queued++;
+        }
+        value.totalWaitNanos += waitNanos;
+        value.maxWaitNanos = Math.max(value.maxWaitNanos, waitNanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static int discoverCapacity(String gridUrl, String browserName) {
+        String statusUrl = gridUrl.replaceAll("/wd/hub/?$", "").replaceAll("/$", "") + "/status";
+        try {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(statusUrl))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.warn("Grid status endpoint {} returned HTTP {}", statusUrl, response.statusCode());
+                return 0;
+            }
+
+            Map<String, Object> status = new Json().toType(response.body(), Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            Collection<Map<String, Object>> nodes = value == null ? null
+                : (Collection<Map<String, Object>>) value.get("nodes");
+            if (nodes == null) {
+                return 0;
+            }
+
+            int matching = 0;
+            int total = 0;
+            for (Map<String, Object> node : nodes) {
+                if (!"UP".equals(node.get("availability"))) {
+                    continue;
+                }
+                Collection<Map<String, Object>> slots = (Collection<Map<String, Object>>) node.get("slots");
+                if (slots == null) {
+                    continue;
+                }
+                for (Map<String, Object> slot : slots) {
+                    total++;
+                    Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                    if (stereotype != null && browserName.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")))) {
+                        matching++;
+                    }
+                }
+            }
+            int capacity = matching > 0 ? matching : total;
+            logger.info("Discovered {} grid slots for {} from {}", capacity, browserName, statusUrl);
+            return capacity;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            logger.warn("Could not read grid capacity from {}: {}", statusUrl, e.getMessage());
+            return 0;
+        }
+    }
+}
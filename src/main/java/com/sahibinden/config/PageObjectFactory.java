@@ -1,6 +1,7 @@
 package com.sahibinden.config;
 
 import com.sahibinden.pages.BasePage;
+import com.sahibinden.pages.PageBinders;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +28,8 @@ public class PageObjectFactory {
         logger.info("Creating page: {}", pageClass.getSimpleName());
         
         try {
-            T page = pageClass.getConstructor(WebDriver.class).newInstance(driver);
+            T page = PageBinders.create(pageClass, driver);
+            page.setDriverManager(driverManager);
             logger.info("Successfully created page: {}", pageClass.getSimpleName());
             return page;
         } catch (Exception e) {
@@ -0,0 +1,252 @@
+package com.sahibinden.config;
+
+import com.sahibinden.util.LatencyHistogram;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public class RemoteSessionFactory {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSessionFactory.class);
+    private static final int MAX_CAUSE_DEPTH = 16;
+    private static final List<String> TRANSIENT_MESSAGES = List.of(
+        "no free slot", "no slot", "timed out", "timeout", "queue", "capacity", "unavailable",
+        "bad gateway", "connection refused", "connection reset", "try again");
+
+    public enum FallbackPolicy {
+        FAIL,
+        WAIT,
+        LOCAL;
+
+        public static FallbackPolicy parse(String value) {
+            return FallbackPolicy.valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int breakerThreshold;
+    private final Duration breakerOpenDuration;
+    private final FallbackPolicy fallbackPolicy;
+    private final Duration waitTimeout;
+    private final Semaphore localPermits;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Set<WebDriver> localFallbacks = ConcurrentHashMap.newKeySet();
+    private final LatencyHistogram remoteCreated = new LatencyHistogram("remote session created");
+    private final LatencyHistogram remoteFailed = new LatencyHistogram("remote session failed");
+    private final LatencyHistogram localCreated = new LatencyHistogram("local fallback session created");
+
+    public RemoteSessionFactory(int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                                int breakerThreshold, Duration breakerOpenDuration,
+                                FallbackPolicy fallbackPolicy, Duration waitTimeout, int maxLocalSessions) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.breakerThreshold = breakerThreshold;
+        this.breakerOpenDuration = breakerOpenDuration;
+        this.fallbackPolicy = fallbackPolicy;
+        this.waitTimeout = waitTimeout;
+        this.localPermits = new Semaphore(Math.max(0, maxLocalSessions));
+    }
+
+    public WebDriver create(String gridUrl, Capabilities capabilities, Supplier<WebDriver> localFactory) {
+        CircuitBreaker breaker = breakerFor(gridUrl);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        RuntimeException lastError = null;
+
+        while (true) {
+            if (breaker.allowRequest()) {
+                try {
+                    return attemptWithBackoff(gridUrl, capabilities, breaker);
+                } catch (RejectedSessionException e) {
+                    throw e.getCause();
+                } catch (RuntimeException e) {
+                    lastError = e;
+                }
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (fallbackPolicy != FallbackPolicy.WAIT || remaining <= 0) {
+                break;
+            }
+            Duration pause = breaker.getRemainingOpenTime();
+            if (pause.isZero()) {
+                pause = initialBackoff;
+            }
+            logger.info("Grid at {} unavailable (circuit {}), waiting {} ms before retrying",
+                gridUrl, breaker.getState(), pause.toMillis());
+            sleep(Duration.ofNanos(Math.min(pause.toNanos(), remaining)));
+        }
+
+        return fallback(gridUrl, breaker, lastError, localFactory);
+    }
+
+    public boolean isLocalFallback(WebDriver driver) {
+        return localFallbacks.contains(driver);
+    }
+
+    public void onQuit(WebDriver driver) {
+        if (localFallbacks.remove(driver)) {
+            localPermits.release();
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState(String gridUrl) {
+        return breakerFor(gridUrl).getState();
+    }
+
+    public LatencyHistogram getRemoteCreatedHistogram() {
+        return remoteCreated;
+    }
+
+    public LatencyHistogram getRemoteFailedHistogram() {
+        return remoteFailed;
+    }
+
+    public void logLatencyStats() {
+        for (LatencyHistogram histogram : new LatencyHistogram[] {remoteCreated, remoteFailed, localCreated}) {
+            if (histogram.getCount() > 0) {
+                logger.info("Session creation latency: {}", histogram.summary());
+            }
+        }
+    }
+
+    private WebDriver attemptWithBackoff(String gridUrl, Capabilities capabilities, CircuitBreaker breaker) {
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                Duration delay = backoff(attempt - 1);
+                logger.info("Retrying remote session at {} in {} ms (attempt {}/{})",
+                    gridUrl, delay.toMillis(), attempt, maxAttempts);
+                sleep(delay);
+                if (!breaker.allowRequest()) {
+                    break;
+                }
+            }
+
+            long start = System.nanoTime();
+            try {
+                WebDriver driver = new RemoteWebDriver(new URL(gridUrl), capabilities);
+                remoteCreated.recordNanos(System.nanoTime() - start);
+                breaker.recordSuccess();
+                return driver;
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid Selenium Grid URL: " + gridUrl, e);
+            } catch (RuntimeException e) {
+                remoteFailed.recordNanos(System.nanoTime() - start);
+                if (!isTransient(e)) {
+                    logger.error("Remote session at {} was rejected, not retrying: {}", gridUrl, e.getMessage());
+                    throw new RejectedSessionException(e);
+                }
+                breaker.recordFailure();
+                lastError = e;
+                logger.warn("Remote session attempt {}/{} at {} failed: {}",
+                    attempt, maxAttempts, gridUrl, e.getMessage());
+            }
+        }
+        throw lastError != null ? lastError
+            : new SessionNotCreatedException("Circuit for " + gridUrl + " is open");
+    }
+
+    private WebDriver fallback(String gridUrl, CircuitBreaker breaker, RuntimeException cause,
+                               Supplier<WebDriver> localFactory) {
+        String reason = "Could not create remote session at " + gridUrl + " (circuit " + breaker.getState() + ")";
+        if (fallbackPolicy != FallbackPolicy.LOCAL) {
+            throw new SessionNotCreatedException(reason, cause);
+        }
+        if (!localPermits.tryAcquire()) {
+            throw new SessionNotCreatedException(reason + ", local fallback limit reached", cause);
+        }
+
+        logger.warn("{}, falling back to a local driver", reason);
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = localFactory.get();
+            localCreated.recordNanos(System.nanoTime() - start);
+            localFallbacks.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            localPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Transport errors and a grid that is busy or briefly down are worth retrying. A session request the
+     * grid rejects for what it asked for, such as an unsupported capability or browser version, fails the
+     * same way every time, so it is rethrown at once and does not count against the circuit breaker.
+     */
+    static boolean isTransient(RuntimeException failure) {
+        int depth = 0;
+        for (Throwable t = failure; t != null && depth < MAX_CAUSE_DEPTH; t = t.getCause(), depth++) {
+            if (t instanceof IOException || t instanceof UncheckedIOException || t instanceof TimeoutException
+                || t instanceof java.util.concurrent.TimeoutException) {
+                return true;
+            }
+        }
+        if (failure instanceof InvalidArgumentException) {
+            return false;
+        }
+        if (!(failure instanceof SessionNotCreatedException)) {
+            return failure instanceof WebDriverException;
+        }
+        String message = ((WebDriverException) failure).getRawMessage();
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        return TRANSIENT_MESSAGES.stream().anyMatch(lower::contains);
+    }
+
+    private Duration backoff(int retry) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(retry - 1, 20));
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private CircuitBreaker breakerFor(String gridUrl) {
+        return breakers.computeIfAbsent(gridUrl,
+            url -> new CircuitBreaker(url, breakerThreshold, breakerOpenDuration));
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for the Selenium Grid");
+        }
+    }
+
+    private static final class RejectedSessionException extends RuntimeException {
+        RejectedSessionException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+}
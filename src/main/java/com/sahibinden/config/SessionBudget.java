@@ -0,0 +1,76 @@
+package com.sahibinden.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of live browsers across several pools. A permit is held for the whole life of a
+ * session, idle or leased. When none is free, an idle session of another pool is quit to make room,
+ * so a desktop pool full of idle sessions cannot keep the mobile pool from launching.
+ */
+public class SessionBudget {
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int size;
+    private final Semaphore permits;
+    private final List<WebDriverPool> pools = new CopyOnWriteArrayList<>();
+
+    public SessionBudget(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Session budget must be at least 1, got " + size);
+        }
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+    }
+
+    void register(WebDriverPool pool) {
+        pools.add(pool);
+    }
+
+    boolean acquire(WebDriverPool requester, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            if (permits.tryAcquire()) {
+                return true;
+            }
+            if (closeIdleSession(requester)) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (permits.tryAcquire(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        }
+    }
+
+    boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getLiveCount() {
+        return size - permits.availablePermits();
+    }
+
+    private boolean closeIdleSession(WebDriverPool requester) {
+        for (WebDriverPool pool : pools) {
+            if (pool != requester && pool.closeIdleSession()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sahibinden.config;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.interactions.Interactive;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Routes every call to the session currently leased by the calling thread, so the
+ * singleton {@code webDriver} bean can be shared by page objects across parallel tests.
+ */
+final class ThreadBoundWebDriver implements InvocationHandler {
+
+    private final WebDriverManager manager;
+
+    private ThreadBoundWebDriver(WebDriverManager manager) {
+        this.manager = manager;
+    }
+
+    static WebDriver create(WebDriverManager manager) {
+        return (WebDriver) Proxy.newProxyInstance(
+            ThreadBoundWebDriver.class.getClassLoader(),
+            new Class<?>[] {WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class,
+                Interactive.class, HasCapabilities.class, WrapsDriver.class},
+            new ThreadBoundWebDriver(manager));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getWrappedDriver":
+                return manager.getDriver();
+            case "quit":
+                manager.closeDriver();
+                return null;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "ThreadBoundWebDriver[" + Thread.currentThread().getName() + "]";
+            default:
+                break;
+        }
+
+        try {
+            return method.invoke(manager.getDriver(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
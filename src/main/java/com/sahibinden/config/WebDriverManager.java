@@ -1,9 +1,22 @@
 package com.sahibinden.config;
 
+import com.sahibinden.devtools.BlockingProfile;
+import com.sahibinden.devtools.DevToolsSupport;
+import com.sahibinden.devtools.NetworkIdleTracker;
+import com.sahibinden.devtools.ReplayMode;
+import com.sahibinden.devtools.ResourceBlocker;
+import com.sahibinden.devtools.ResponseReplayer;
+import com.sahibinden.devtools.ResponseStore;
+import com.sahibinden.pages.PageSettleDetector;
+import com.sahibinden.util.BlockingExecutors;
+import com.sahibinden.util.StepRetry;
+import com.sahibinden.util.TimingReport;
+import com.sahibinden.util.TimingRegistry;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.devtools.DevTools;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,16 +24,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.env.Environment;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
-import java.net.URL;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 @Component
@@ -30,6 +49,21 @@ public class WebDriverManager {
     private static final int DEFAULT_TIMEOUT = 30;
     
     private final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private final Map<WebDriver, DeviceMode> driverModes = new ConcurrentHashMap<>();
+    private final ThreadLocal<DeviceMode> deviceMode = new ThreadLocal<>();
+    private WebDriverPool desktopPool;
+    private WebDriverPool mobilePool;
+    private SessionBudget sessionBudget;
+    private ExecutorService prewarmExecutor;
+    private final ThreadLocal<String> sessionOwner = new ThreadLocal<>();
+    private final Set<WebDriver> gridSessions = ConcurrentHashMap.newKeySet();
+    private volatile GridSlotScheduler gridScheduler;
+    private RemoteSessionFactory remoteSessionFactory;
+    private final Map<WebDriver, Optional<DevTools>> devToolsSessions = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Optional<NetworkIdleTracker>> networkTrackers = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Optional<ResourceBlocker>> resourceBlockers = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Optional<ResponseReplayer>> responseReplayers = new ConcurrentHashMap<>();
+    private ResponseStore responseStore;
     
     @Value("${browser.type:chrome}")
     private String browserType;
@@ -37,7 +71,7 @@ public class WebDriverManager {
     @Value("${browser.headless:false}")
     private boolean headless;
     
-    @Value("${browser.implicit.wait:20}")
+    @Value("${browser.implicit.wait:0}")
     private int implicitWait;
     
     @Value("${browser.page.load.timeout:30}")
@@ -45,27 +79,109 @@ public class WebDriverManager {
     
     @Value("${browser.script.timeout:30}")
     private int scriptTimeout;
+
+    @Value("${browser.page.load.strategy:eager}")
+    private String pageLoadStrategy;
     
     @Value("${selenium.grid.url:}")
     private String gridUrl;
 
     @Value("${selenium.use.grid:false}")
     private boolean useGrid;
-    
-    @Autowired
-    private Environment environment;
+
+    @Value("${selenium.grid.max.sessions:0}")
+    private int gridMaxSessions;
+
+    @Value("${selenium.grid.queue.timeout:600}")
+    private int gridQueueTimeout;
+
+    @Value("${selenium.grid.retry.attempts:3}")
+    private int gridRetryAttempts;
+
+    @Value("${selenium.grid.retry.initial.backoff:500}")
+    private long gridRetryInitialBackoff;
+
+    @Value("${selenium.grid.retry.max.backoff:8000}")
+    private long gridRetryMaxBackoff;
+
+    @Value("${selenium.grid.breaker.threshold:5}")
+    private int gridBreakerThreshold;
+
+    @Value("${selenium.grid.breaker.open.duration:30}")
+    private int gridBreakerOpenDuration;
+
+    @Value("${selenium.grid.fallback.policy:fail}")
+    private String gridFallbackPolicy;
+
+    @Value("${selenium.grid.fallback.wait.timeout:300}")
+    private int gridFallbackWaitTimeout;
+
+    @Value("${selenium.grid.fallback.local.max.sessions:1}")
+    private int gridFallbackLocalMaxSessions;
+
+    @Value("${browser.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${browser.pool.size:4}")
+    private int poolSize;
+
+    @Value("${browser.pool.max.uses:50}")
+    private int poolMaxUses;
+
+    @Value("${browser.pool.max.age:1800}")
+    private int poolMaxAge;
+
+    @Value("${browser.pool.lease.timeout:300}")
+    private int poolLeaseTimeout;
+
+    @Value("${browser.pool.reset.policy:close_windows,clear_storage,clear_cookies,blank_page}")
+    private String poolResetPolicy;
+
+    @Value("${browser.network.tracking.enabled:true}")
+    private boolean networkTrackingEnabled;
+
+    @Value("${browser.network.ignore.hosts:}")
+    private String networkIgnoreHosts;
+
+    @Value("${browser.network.resource.types:Document,XHR,Fetch}")
+    private String networkResourceTypes;
+
+    @Value("${browser.network.stale.after:30}")
+    private int networkStaleAfter;
+
+    @Value("${browser.blocking.profile:full}")
+    private String blockingProfile;
+
+    @Value("${browser.device.mode:desktop}")
+    private String defaultDeviceMode;
+
+    @Value("${browser.replay.mode:off}")
+    private String replayMode;
+
+    @Value("${browser.replay.path:target/replay-store}")
+    private String replayPath;
+
+    @Value("${browser.replay.ignore.params:}")
+    private String replayIgnoreParams;
+
+    @Value("${test.timing.report.path:target/timings}")
+    private String timingReportPath;
+
+    @Value("${browser.prewarm.enabled:false}")
+    private boolean prewarmEnabled;
+
+    @Value("${browser.prewarm.desktop.sessions:0}")
+    private int prewarmDesktopSessions;
+
+    @Value("${browser.prewarm.mobile.sessions:0}")
+    private int prewarmMobileSessions;
     
 
-    @Bean(destroyMethod = "quit")
+    @Bean(destroyMethod = "")
     @Qualifier("webDriver")
     public WebDriver webDriver() {
-        boolean isResponsive = environment.getActiveProfiles().length > 0 && 
-                             environment.getActiveProfiles()[0].equals("responsive-test");
-        logger.info("Creating WebDriver bean with responsive mode: {}", isResponsive);
-        
-        WebDriver driver = createDriver(isResponsive);
-        driverThreadLocal.set(driver);
-        return driver;
+        logger.info("Creating thread-bound WebDriver bean, sessions are leased per thread on first use");
+        return ThreadBoundWebDriver.create(this);
     }
     
 
@@ -80,25 +196,199 @@ public class WebDriverManager {
     @PostConstruct
     public void init() {
         logger.info("Initializing WebDriverManager with browser: {}, headless: {}", browserType, headless);
+        remoteSessionFactory = new RemoteSessionFactory(
+            gridRetryAttempts,
+            Duration.ofMillis(gridRetryInitialBackoff),
+            Duration.ofMillis(gridRetryMaxBackoff),
+            gridBreakerThreshold,
+            Duration.ofSeconds(gridBreakerOpenDuration),
+            RemoteSessionFactory.FallbackPolicy.parse(gridFallbackPolicy),
+            Duration.ofSeconds(gridFallbackWaitTimeout),
+            gridFallbackLocalMaxSessions);
+        if (ReplayMode.parse(replayMode) != ReplayMode.OFF) {
+            responseStore = new ResponseStore(Paths.get(replayPath));
+            logger.info("Response {} mode using store {}", ReplayMode.parse(replayMode), replayPath);
+        }
+        sessionBudget = new SessionBudget(Math.max(1, poolSize));
+        desktopPool = createPool(false);
+        mobilePool = createPool(true);
+        logger.info("WebDriver pool enabled: {}, size: {} (shared by desktop and mobile), max uses: {}, max age: {}s, reset policy: {}",
+            poolEnabled, poolSize, poolMaxUses, poolMaxAge, poolResetPolicy);
+
+        if (poolEnabled && prewarmEnabled) {
+            prewarm();
+        }
+    }
+
+    private void prewarm() {
+        int sessions = Math.min(poolSize, Math.max(0, prewarmDesktopSessions) + Math.max(0, prewarmMobileSessions));
+        if (sessions <= 0) {
+            logger.info("Browser prewarm enabled but no desktop or mobile sessions configured");
+            return;
+        }
+
+        prewarmExecutor = BlockingExecutors.newExecutor("webdriver-prewarm", sessions);
+        Executor prewarmTasks = task -> prewarmExecutor.execute(() -> {
+            sessionOwner.set("prewarm");
+            try {
+                task.run();
+            } finally {
+                sessionOwner.remove();
+            }
+        });
+
+        long start = System.nanoTime();
+        logger.info("Prewarming {} desktop and {} mobile sessions in the background",
+            prewarmDesktopSessions, prewarmMobileSessions);
+        CompletableFuture.allOf(
+                desktopPool.prewarm(prewarmDesktopSessions, prewarmTasks),
+                mobilePool.prewarm(prewarmMobileSessions, prewarmTasks))
+            .whenComplete((ignored, error) -> logger.info(
+                "Browser prewarm finished in {} ms - idle desktop: {}, idle mobile: {}",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                desktopPool.getIdleCount(), mobilePool.getIdleCount()));
+    }
+
+    private WebDriverPool createPool(boolean isMobile) {
+        return new WebDriverPool(
+            isMobile ? "mobile" : "desktop",
+            () -> createDriver(isMobile),
+            this::quitDriver,
+            poolSize,
+            poolMaxUses,
+            Duration.ofSeconds(poolMaxAge),
+            WebDriverPool.ResetStep.parse(poolResetPolicy),
+            sessionBudget);
     }
-    
 
     public WebDriver getDriver() {
         WebDriver driver = driverThreadLocal.get();
         
         if (driver == null) {
-            boolean isResponsive = environment.getActiveProfiles().length > 0 && 
-                                 environment.getActiveProfiles()[0].equals("responsive-test");
-            driver = createDriver(isResponsive);
+            DeviceMode mode = getDeviceMode();
+            driver = poolEnabled
+                ? poolFor(mode.isMobile()).lease(Duration.ofSeconds(poolLeaseTimeout))
+                : createDriver(mode.isMobile());
+            driverModes.put(driver, mode);
             driverThreadLocal.set(driver);
 
-            logger.info("Thread ID: {}, Created new driver: {}", 
-                Thread.currentThread().getId(), driver.hashCode());
+            logger.info("Thread ID: {}, Leased {} driver: {}", 
+                Thread.currentThread().getId(), mode.label(), driver.hashCode());
         }
         
         return driver;
     }
 
+    public DeviceMode getDeviceMode() {
+        DeviceMode mode = deviceMode.get();
+        return mode != null ? mode : DeviceMode.parse(defaultDeviceMode);
+    }
+
+    public void setDeviceMode(DeviceMode mode) {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver != null && driverModes.get(driver) != mode) {
+            logger.info("Switching session to {} mode, returning current driver", mode.label());
+            releaseDriver();
+        }
+        deviceMode.set(mode);
+    }
+
+    private WebDriverPool poolFor(boolean isMobile) {
+        return isMobile ? mobilePool : desktopPool;
+    }
+
+    public void setSessionOwner(String owner) {
+        sessionOwner.set(owner);
+    }
+
+    public Optional<DevTools> getDevTools() {
+        return devToolsSessions.computeIfAbsent(getDriver(), DevToolsSupport::connect);
+    }
+
+    public Optional<NetworkIdleTracker> getNetworkIdleTracker() {
+        if (!networkTrackingEnabled) {
+            return Optional.empty();
+        }
+        WebDriver driver = getDriver();
+        return networkTrackers.computeIfAbsent(driver, key -> devToolsSessions
+            .computeIfAbsent(key, DevToolsSupport::connect)
+            .map(devTools -> {
+                NetworkIdleTracker tracker = new NetworkIdleTracker(
+                    splitList(networkIgnoreHosts),
+                    splitList(networkResourceTypes),
+                    Duration.ofSeconds(networkStaleAfter));
+                tracker.attach(devTools);
+                return tracker;
+            }));
+    }
+
+    public void applyBlockingProfile(BlockingProfile profile) {
+        resourceBlockerFor(getDriver()).ifPresent(blocker -> blocker.apply(profile));
+    }
+
+    public BlockingProfile getDefaultBlockingProfile() {
+        return BlockingProfile.parse(blockingProfile);
+    }
+
+    private Optional<ResourceBlocker> resourceBlockerFor(WebDriver driver) {
+        return resourceBlockers.computeIfAbsent(driver, key -> devToolsSessions
+            .computeIfAbsent(key, DevToolsSupport::connect)
+            .flatMap(devTools -> {
+                try {
+                    ResourceBlocker blocker = new ResourceBlocker();
+                    blocker.attach(devTools);
+                    return Optional.of(blocker);
+                } catch (Exception e) {
+                    logger.warn("Resource blocking unavailable: {}", e.getMessage());
+                    return Optional.empty();
+                }
+            }));
+    }
+
+    private Optional<ResponseReplayer> responseReplayerFor(WebDriver driver) {
+        return responseReplayers.computeIfAbsent(driver, key -> devToolsSessions
+            .computeIfAbsent(key, DevToolsSupport::connect)
+            .flatMap(devTools -> {
+                try {
+                    ResponseReplayer replayer = new ResponseReplayer(
+                        responseStore, ReplayMode.parse(replayMode), splitList(replayIgnoreParams));
+                    replayer.attach(devTools);
+                    return Optional.of(replayer);
+                } catch (Exception e) {
+                    logger.warn("Response record/replay unavailable: {}", e.getMessage());
+                    return Optional.empty();
+                }
+            }));
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(item -> !item.isEmpty())
+            .toList();
+    }
+
+    public GridSlotScheduler getGridScheduler() {
+        GridSlotScheduler scheduler = gridScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = gridScheduler;
+                if (scheduler == null) {
+                    int capacity = gridMaxSessions > 0
+                        ? gridMaxSessions
+                        : GridSlotScheduler.discoverCapacity(gridUrl, browserType);
+                    if (capacity <= 0) {
+                        capacity = poolSize;
+                        logger.warn("Grid capacity unknown, admitting at most {} sessions", capacity);
+                    }
+                    scheduler = new GridSlotScheduler(capacity);
+                    gridScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
     private WebDriver createDriver(boolean isMobile) {
         try {
             logger.info("Creating {} driver with browser: {}, Grid Enabled: {}", 
@@ -123,20 +413,30 @@ public class WebDriverManager {
     }
 
     private WebDriver createRemoteDriver(boolean isMobile) {
+        logger.info("Creating {} remote driver using Selenium Grid at {}", 
+            isMobile ? "mobile" : "desktop", gridUrl);
+        
+        ChromeOptions options = createChromeOptions(isMobile);
+        options.setCapability("se:name", "Thread-" + Thread.currentThread().getId());
+
+        String owner = sessionOwner.get() != null ? sessionOwner.get() : Thread.currentThread().getName();
+        GridSlotScheduler scheduler = getGridScheduler();
+        scheduler.acquire(owner, Duration.ofSeconds(gridQueueTimeout));
+        WebDriver remoteDriver;
         try {
-            logger.info("Creating {} remote driver using Selenium Grid at {}", 
-                isMobile ? "mobile" : "desktop", gridUrl);
-            
-            ChromeOptions options = createChromeOptions(isMobile);
-            options.setCapability("se:name", "Thread-" + Thread.currentThread().getId());
-            
-            WebDriver remoteDriver = new RemoteWebDriver(new URL(gridUrl), options);
+            remoteDriver = remoteSessionFactory.create(gridUrl, options, () -> createLocalDriver(isMobile));
+        } catch (RuntimeException e) {
+            scheduler.release();
+            throw e;
+        }
+
+        if (remoteSessionFactory.isLocalFallback(remoteDriver)) {
+            scheduler.release();
+        } else {
+            gridSessions.add(remoteDriver);
             logger.info("Remote driver created successfully: {}", remoteDriver);
-            return remoteDriver;
-        } catch (Exception e) {
-            logger.warn("Failed to connect to Grid, falling back to local driver: {}", e.getMessage());
-            return createLocalDriver(isMobile);
         }
+        return remoteDriver;
     }
     
 
@@ -151,6 +451,7 @@ public class WebDriverManager {
 
     private ChromeOptions createChromeOptions(boolean isMobile) {
         ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(pageLoadStrategy.toLowerCase()));
 
         options.addArguments(
             "--disable-notifications",
@@ -159,7 +460,11 @@ public class WebDriverManager {
             "--disable-dev-shm-usage",
             "--remote-allow-origins=*",
             "--disable-extensions",
-            "--disable-infobars"
+            "--disable-infobars",
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-domain-reliability",
+            "--disable-sync"
         );
         
         if (headless) {
@@ -187,6 +492,15 @@ public class WebDriverManager {
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
         driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(scriptTimeout));
+
+        BlockingProfile profile = getDefaultBlockingProfile();
+        if (profile != BlockingProfile.FULL) {
+            resourceBlockerFor(driver).ifPresent(blocker -> blocker.apply(profile));
+        }
+        if (responseStore != null) {
+            responseReplayerFor(driver);
+        }
+        installSettleTracker(driver);
         
         if (!isMobile && !headless) {
             driver.manage().window().maximize();
@@ -196,12 +510,57 @@ public class WebDriverManager {
             implicitWait, pageLoadTimeout, scriptTimeout);
     }
 
+    private void installSettleTracker(WebDriver driver) {
+        devToolsSessions.computeIfAbsent(driver, DevToolsSupport::connect).ifPresent(devTools -> {
+            try {
+                PageSettleDetector.installOnNewDocument(devTools);
+            } catch (Exception e) {
+                logger.warn("Page settle tracker not registered, it will be injected on demand: {}", e.getMessage());
+            }
+        });
+    }
+
+    public void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+
+        if (driver != null) {
+            try {
+                DeviceMode mode = driverModes.remove(driver);
+                networkTrackers.getOrDefault(driver, Optional.empty()).ifPresent(NetworkIdleTracker::reset);
+                resourceBlockers.getOrDefault(driver, Optional.empty()).ifPresent(blocker -> {
+                    logger.info("Resource blocking for {}: {}", sessionOwner.get(), blocker.getStats());
+                    blocker.resetStats();
+                    blocker.apply(getDefaultBlockingProfile());
+                });
+                responseReplayers.getOrDefault(driver, Optional.empty()).ifPresent(replayer -> {
+                    logger.info("Response {} for {}: {}", replayer.getMode(), sessionOwner.get(), replayer);
+                    replayer.resetStats();
+                });
+                if (poolEnabled && mode != null) {
+                    poolFor(mode.isMobile()).release(driver);
+                    logger.info("WebDriver session returned to pool");
+                } else {
+                    quitDriver(driver);
+                }
+            } catch (Exception e) {
+                logger.error("Error releasing WebDriver: {}", e.getMessage());
+            } finally {
+                driverThreadLocal.remove();
+            }
+        }
+    }
+
     public void closeDriver() {
         WebDriver driver = driverThreadLocal.get();
         
         if (driver != null) {
             try {
-                driver.quit();
+                DeviceMode mode = driverModes.remove(driver);
+                if (poolEnabled && mode != null) {
+                    poolFor(mode.isMobile()).evict(driver);
+                } else {
+                    quitDriver(driver);
+                }
                 logger.info("WebDriver instance closed successfully");
             } catch (Exception e) {
                 logger.error("Error closing WebDriver: {}", e.getMessage());
@@ -211,9 +570,49 @@ public class WebDriverManager {
         }
     }
 
+    private void quitDriver(WebDriver driver) {
+        try {
+            detachDevTools(driver);
+            driver.quit();
+        } finally {
+            networkTrackers.remove(driver);
+            resourceBlockers.remove(driver);
+            responseReplayers.remove(driver);
+            devToolsSessions.remove(driver);
+            remoteSessionFactory.onQuit(driver);
+            if (gridSessions.remove(driver)) {
+                gridScheduler.release();
+            }
+        }
+    }
+
+    private void detachDevTools(WebDriver driver) {
+        try {
+            networkTrackers.getOrDefault(driver, Optional.empty()).ifPresent(NetworkIdleTracker::close);
+            devToolsSessions.getOrDefault(driver, Optional.empty()).ifPresent(DevTools::close);
+        } catch (Exception e) {
+            logger.warn("Error closing DevTools session: {}", e.getMessage());
+        }
+    }
+
     @PreDestroy
     public void cleanup() {
+        if (prewarmExecutor != null) {
+            prewarmExecutor.shutdownNow();
+        }
         closeDriver();
+        desktopPool.shutdown();
+        mobilePool.shutdown();
+        if (responseStore != null) {
+            responseStore.close();
+        }
+        if (gridScheduler != null) {
+            gridScheduler.logQueueWaitStats();
+        }
+        remoteSessionFactory.logLatencyStats();
+        StepRetry.logSummary();
+        TimingRegistry.logSummary();
+        TimingReport.write(TimingRegistry.snapshot(), Paths.get(timingReportPath));
         logger.info("WebDriverManager cleanup completed");
     }
 } 
\ No newline at end of file
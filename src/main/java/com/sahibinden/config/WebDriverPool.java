@@ -0,0 +1,335 @@
+package com.sahibinden.config;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class WebDriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    public enum ResetStep {
+        CLOSE_WINDOWS,
+        CLEAR_STORAGE,
+        CLEAR_COOKIES,
+        BLANK_PAGE;
+
+        public static Set<ResetStep> parse(String policy) {
+            Set<ResetStep> steps = EnumSet.noneOf(ResetStep.class);
+            if (policy == null || policy.trim().isEmpty()) {
+                return steps;
+            }
+            for (String step : policy.split(",")) {
+                String name = step.trim().toUpperCase().replace('-', '_');
+                if (!name.isEmpty()) {
+                    steps.add(ResetStep.valueOf(name));
+                }
+            }
+            return steps;
+        }
+    }
+
+    public static class PooledSession {
+        private final WebDriver driver;
+        private final long createdAtNanos = System.nanoTime();
+        private int uses;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+
+        public Duration getAge() {
+            return Duration.ofNanos(System.nanoTime() - createdAtNanos);
+        }
+    }
+
+    private final String name;
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> destroyer;
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration maxAge;
+    private final Set<ResetStep> resetSteps;
+    private final SessionBudget budget;
+
+    private final Semaphore leases;
+    private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private volatile boolean closed;
+
+    public WebDriverPool(String name, Supplier<WebDriver> factory, Consumer<WebDriver> destroyer,
+                         int maxSize, int maxUses, Duration maxAge, Set<ResetStep> resetSteps) {
+        this(name, factory, destroyer, maxSize, maxUses, maxAge, resetSteps, new SessionBudget(Math.max(1, maxSize)));
+    }
+
+    public WebDriverPool(String name, Supplier<WebDriver> factory, Consumer<WebDriver> destroyer,
+                         int maxSize, int maxUses, Duration maxAge, Set<ResetStep> resetSteps,
+                         SessionBudget budget) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, got " + maxSize);
+        }
+        this.name = name;
+        this.factory = factory;
+        this.destroyer = destroyer;
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.maxAge = maxAge;
+        this.resetSteps = resetSteps.isEmpty() ? EnumSet.noneOf(ResetStep.class) : EnumSet.copyOf(resetSteps);
+        this.leases = new Semaphore(maxSize, true);
+        this.budget = budget;
+        budget.register(this);
+    }
+
+    public WebDriver lease(Duration timeout) {
+        if (closed) {
+            throw new IllegalStateException("WebDriver pool '" + name + "' is closed");
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            if (!leases.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + timeout.toSeconds()
+                    + "s waiting for a session from pool '" + name + "'");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a session from pool '" + name + "'", e);
+        }
+
+        try {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (isReusable(session)) {
+                    reused.incrementAndGet();
+                    break;
+                }
+                destroy(session);
+            }
+            if (session == null) {
+                session = new PooledSession(launch(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())), timeout));
+                created.incrementAndGet();
+                logger.info("Pool '{}' launched new session ({} created so far)", name, created.get());
+            }
+            session.uses++;
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    private WebDriver launch(Duration remaining, Duration timeout) {
+        try {
+            if (!budget.acquire(this, remaining)) {
+                throw new IllegalStateException("Timed out after " + timeout.toSeconds()
+                    + "s waiting for a browser slot for pool '" + name + "' ("
+                    + budget.getLiveCount() + "/" + budget.getSize() + " browsers live)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser slot for pool '" + name + "'", e);
+        }
+        try {
+            return factory.get();
+        } catch (RuntimeException e) {
+            budget.release();
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Void> prewarm(int count, Executor executor) {
+        int target = Math.min(count, maxSize);
+        CompletableFuture<?>[] launches = new CompletableFuture<?>[target];
+        for (int i = 0; i < target; i++) {
+            launches[i] = CompletableFuture.runAsync(this::prewarmSession, executor);
+        }
+        return CompletableFuture.allOf(launches);
+    }
+
+    private void prewarmSession() {
+        if (closed || !leases.tryAcquire()) {
+            return;
+        }
+        try {
+            if (idle.size() + leased.size() >= maxSize || !budget.tryAcquire()) {
+                return;
+            }
+            PooledSession session;
+            try {
+                session = new PooledSession(factory.get());
+            } catch (RuntimeException e) {
+                budget.release();
+                throw e;
+            }
+            created.incrementAndGet();
+            if (closed) {
+                destroy(session);
+            } else {
+                idle.offerLast(session);
+                logger.info("Pool '{}' prewarmed session ({} idle)", name, idle.size());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Pool '{}' failed to prewarm session: {}", name, e.getMessage());
+        } finally {
+            leases.release();
+        }
+    }
+
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Pool '{}' received a driver it did not lease, quitting it", name);
+            destroyer.accept(driver);
+            return;
+        }
+        try {
+            if (closed || (maxUses > 0 && session.uses >= maxUses) || !reset(session)) {
+                destroy(session);
+            } else {
+                idle.offerFirst(session);
+            }
+        } finally {
+            leases.release();
+        }
+    }
+
+    public void evict(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            destroyer.accept(driver);
+            return;
+        }
+        try {
+            destroy(session);
+        } finally {
+            leases.release();
+        }
+    }
+
+    boolean closeIdleSession() {
+        PooledSession session = idle.pollLast();
+        if (session == null) {
+            return false;
+        }
+        logger.info("Pool '{}' closing idle session to free a browser slot", name);
+        destroy(session);
+        return true;
+    }
+
+    public PooledSession session(WebDriver driver) {
+        return leased.get(driver);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    public void shutdown() {
+        closed = true;
+        List<PooledSession> sessions = new ArrayList<>();
+        idle.drainTo(sessions);
+        sessions.addAll(leased.values());
+        leased.clear();
+        for (PooledSession session : sessions) {
+            destroy(session);
+        }
+        logger.info("Pool '{}' shut down - created: {}, reused: {}, destroyed: {}",
+            name, created.get(), reused.get(), destroyed.get());
+    }
+
+    private boolean isReusable(PooledSession session) {
+        if (maxAge != null && !maxAge.isZero() && session.getAge().compareTo(maxAge) > 0) {
+            logger.info("Pool '{}' evicting session older than {}s", name, maxAge.toSeconds());
+            return false;
+        }
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Pool '{}' evicting session that failed health check: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            if (resetSteps.contains(ResetStep.CLOSE_WINDOWS)) {
+                closeExtraWindows(driver);
+            }
+            if (resetSteps.contains(ResetStep.CLEAR_STORAGE)) {
+                ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            if (resetSteps.contains(ResetStep.CLEAR_COOKIES)) {
+                driver.manage().deleteAllCookies();
+            }
+            if (resetSteps.contains(ResetStep.BLANK_PAGE)) {
+                driver.get("about:blank");
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("Pool '{}' failed to reset session, evicting it: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private void closeExtraWindows(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.size() <= 1) {
+            return;
+        }
+        String keep = handles.get(0);
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(keep);
+    }
+
+    private void destroy(PooledSession session) {
+        destroyed.incrementAndGet();
+        try {
+            destroyer.accept(session.driver);
+        } catch (Exception e) {
+            logger.warn("Pool '{}' failed to quit session: {}", name, e.getMessage());
+        } finally {
+            budget.release();
+        }
+    }
+}
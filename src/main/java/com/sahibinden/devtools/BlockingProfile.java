@@ -0,0 +1,54 @@
+package com.sahibinden.devtools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public enum BlockingProfile {
+    FUNCTIONAL(true, true, true),
+    VISUAL(false, false, true),
+    FULL(false, false, false);
+
+    private static final List<String> IMAGE_PATTERNS = List.of(
+        "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.avif", "*.svg", "*.ico", "*.mp4", "*.webm");
+
+    private static final List<String> FONT_PATTERNS = List.of(
+        "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot");
+
+    private static final List<String> THIRD_PARTY_PATTERNS = List.of(
+        "*google-analytics.com*", "*googletagmanager.com*", "*googlesyndication.com*",
+        "*doubleclick.net*", "*adservice.google.*", "*facebook.net*", "*hotjar.com*",
+        "*criteo.com*", "*criteo.net*", "*creativecdn.com*", "*adnxs.com*", "*yandex.ru/metrika*");
+
+    private final boolean blockImages;
+    private final boolean blockFonts;
+    private final boolean blockThirdParty;
+
+    BlockingProfile(boolean blockImages, boolean blockFonts, boolean blockThirdParty) {
+        this.blockImages = blockImages;
+        this.blockFonts = blockFonts;
+        this.blockThirdParty = blockThirdParty;
+    }
+
+    public List<String> getPatterns() {
+        List<String> urls = new ArrayList<>();
+        if (blockImages) {
+            urls.addAll(IMAGE_PATTERNS);
+        }
+        if (blockFonts) {
+            urls.addAll(FONT_PATTERNS);
+        }
+        if (blockThirdParty) {
+            urls.addAll(THIRD_PARTY_PATTERNS);
+        }
+        return Collections.unmodifiableList(urls);
+    }
+
+    public static BlockingProfile parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
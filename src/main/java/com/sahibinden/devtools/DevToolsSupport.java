@@ -0,0 +1,37 @@
+package com.sahibinden.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+public final class DevToolsSupport {
+    private static final Logger logger = LoggerFactory.getLogger(DevToolsSupport.class);
+
+    private DevToolsSupport() {
+    }
+
+    public static Optional<DevTools> connect(WebDriver driver) {
+        WebDriver target = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        try {
+            if (!(target instanceof HasDevTools) && target instanceof RemoteWebDriver) {
+                target = new Augmenter().augment(target);
+            }
+            if (target instanceof HasDevTools) {
+                DevTools devTools = ((HasDevTools) target).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                return Optional.of(devTools);
+            }
+            logger.warn("Driver {} does not support DevTools", target.getClass().getSimpleName());
+        } catch (Exception e) {
+            logger.warn("Could not open DevTools session: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,255 @@
+package com.sahibinden.devtools;
+
+import com.sahibinden.util.TimingRegistry;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v134.network.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Counts in-flight requests of one browser session from CDP Network events. Requests to ignored hosts
+ * (analytics, long-polling) and resource types outside {@code resourceTypes} are never counted, and
+ * requests older than {@code staleAfter} are treated as background connections that will not finish.
+ */
+public class NetworkIdleTracker implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkIdleTracker.class);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    public static final Set<String> DEFAULT_RESOURCE_TYPES = Set.of("Document", "XHR", "Fetch");
+
+    private static class InFlightRequest {
+        private final String url;
+        private final long startedAt;
+
+        InFlightRequest(String url, long startedAt) {
+            this.url = url;
+            this.startedAt = startedAt;
+        }
+    }
+
+    private final Set<String> ignoredHosts;
+    private final Set<String> resourceTypes;
+    private final Duration staleAfter;
+    private final Map<String, InFlightRequest> inFlight = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long lastActivity = System.nanoTime();
+    private long startedCount;
+    private long ignoredCount;
+    private volatile boolean closed;
+
+    public NetworkIdleTracker(Collection<String> ignoredHosts, Collection<String> resourceTypes, Duration staleAfter) {
+        this.ignoredHosts = ignoredHosts.stream()
+            .map(host -> host.trim().toLowerCase(Locale.ROOT))
+            .filter(host -> !host.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+        this.resourceTypes = Set.copyOf(resourceTypes);
+        this.staleAfter = staleAfter;
+    }
+
+    public void attach(DevTools devTools) {
+        devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+        devTools.addListener(Network.requestWillBeSent(), event -> onRequestStarted(
+            event.getRequestId().toString(),
+            event.getRequest().getUrl(),
+            event.getType().map(Object::toString).orElse("Other")));
+        devTools.addListener(Network.loadingFinished(), event -> onRequestFinished(event.getRequestId().toString()));
+        devTools.addListener(Network.loadingFailed(), event -> onRequestFinished(event.getRequestId().toString()));
+        logger.info("Network idle tracking attached, ignoring hosts: {}", ignoredHosts);
+    }
+
+    void onRequestStarted(String requestId, String url, String resourceType) {
+        if (closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!resourceTypes.contains(resourceType) || isIgnored(url)) {
+                ignoredCount++;
+                return;
+            }
+            long now = System.nanoTime();
+            if (inFlight.put(requestId, new InFlightRequest(url, now)) == null) {
+                startedCount++;
+            }
+            lastActivity = now;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onRequestFinished(String requestId) {
+        if (closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (inFlight.remove(requestId) != null) {
+                lastActivity = System.nanoTime();
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean awaitIdle(Duration quietWindow, Duration timeout) {
+        return awaitIdle(url -> true, quietWindow, timeout);
+    }
+
+    public boolean awaitIdle(Predicate<String> requestFilter, Duration quietWindow, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long quietFor = now - lastActivity;
+                if (countInFlight(requestFilter, now) == 0 && quietFor >= quietWindow.toNanos()) {
+                    return true;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    return false;
+                }
+                changed.awaitNanos(Math.min(remaining, POLL_NANOS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+            TimingRegistry.record("wait: network idle", System.nanoTime() - start);
+        }
+    }
+
+    public int getInFlightCount() {
+        return getInFlightUrls(url -> true).size();
+    }
+
+    public List<String> getInFlightUrls(Predicate<String> requestFilter) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            List<String> urls = new ArrayList<>();
+            for (InFlightRequest request : inFlight.values()) {
+                if (isActive(request, requestFilter, now)) {
+                    urls.add(request.url);
+                }
+            }
+            return urls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getStartedCount() {
+        lock.lock();
+        try {
+            return startedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getIgnoredCount() {
+        lock.lock();
+        try {
+            return ignoredCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void reset() {
+        lock.lock();
+        try {
+            inFlight.clear();
+            lastActivity = System.nanoTime();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        reset();
+    }
+
+    private int countInFlight(Predicate<String> requestFilter, long now) {
+        int count = 0;
+        for (InFlightRequest request : inFlight.values()) {
+            if (isActive(request, requestFilter, now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean isActive(InFlightRequest request, Predicate<String> requestFilter, long now) {
+        return now - request.startedAt < staleAfter.toNanos() && requestFilter.test(request.url);
+    }
+
+    private boolean isIgnored(String url) {
+        if (!url.startsWith("http")) {
+            return true;
+        }
+        String host = hostOf(url);
+        if (host == null) {
+            return false;
+        }
+        for (String ignored : ignoredHosts) {
+            if (isSameOrSubdomain(host, ignored)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Predicate<String> sameSiteAs(String pageUrl) {
+        String pageHost = hostOf(pageUrl);
+        if (pageHost == null) {
+            return url -> true;
+        }
+        String[] labels = pageHost.split("\\.");
+        String site = labels.length > 2 && !pageHost.matches("[0-9.]+")
+            ? labels[labels.length - 2] + "." + labels[labels.length - 1]
+            : pageHost;
+        return url -> {
+            String host = hostOf(url);
+            return host != null && isSameOrSubdomain(host, site);
+        };
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSameOrSubdomain(String host, String domain) {
+        return host.equals(domain) || host.endsWith("." + domain);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sahibinden.devtools;
+
+import java.util.Locale;
+
+public enum ReplayMode {
+    OFF,
+    RECORD,
+    REPLAY;
+
+    public static ReplayMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return OFF;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
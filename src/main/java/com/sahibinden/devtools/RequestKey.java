@@ -0,0 +1,77 @@
+package com.sahibinden.devtools;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalises a request into the key used by {@link ResponseStore}: upper-case method, lower-case scheme
+ * and host, no default port or fragment, query parameters sorted with cache-busting ones removed, and a
+ * short digest of the post body when there is one.
+ */
+public final class RequestKey {
+
+    private RequestKey() {
+    }
+
+    public static String of(String method, String url, String postData, Collection<String> ignoredParams) {
+        StringBuilder key = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ').append(normaliseUrl(url, ignoredParams));
+        if (postData != null && !postData.isEmpty()) {
+            key.append(" #").append(digest(postData));
+        }
+        return key.toString();
+    }
+
+    static String normaliseUrl(String url, Collection<String> ignoredParams) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return url;
+        }
+
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        StringBuilder normalised = new StringBuilder(scheme).append("://")
+            .append(uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : uri.getRawAuthority());
+        int port = uri.getPort();
+        if (port != -1 && !(port == 80 && scheme.equals("http")) && !(port == 443 && scheme.equals("https"))) {
+            normalised.append(':').append(port);
+        }
+        normalised.append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                int eq = param.indexOf('=');
+                String name = eq < 0 ? param : param.substring(0, eq);
+                if (!param.isEmpty() && !ignoredParams.contains(name)) {
+                    params.add(param);
+                }
+            }
+            params.sort(null);
+            if (!params.isEmpty()) {
+                normalised.append('?').append(String.join("&", params));
+            }
+        }
+        return normalised.toString();
+    }
+
+    private static String digest(String postData) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(postData.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sahibinden.devtools;
+
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v134.network.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Applies a {@link BlockingProfile} to one browser session with {@code Network.setBlockedURLs} and keeps
+ * per-session statistics. Saved bytes are estimated from the average transfer size of the same resource
+ * type observed in this session, falling back to typical sizes when nothing of that type was loaded.
+ */
+public class ResourceBlocker {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceBlocker.class);
+    private static final int MAX_TRACKED_REQUESTS = 10_000;
+    private static final Map<String, Long> TYPICAL_SIZES = Map.of(
+        "Image", 40_000L,
+        "Media", 500_000L,
+        "Font", 45_000L,
+        "Script", 60_000L,
+        "XHR", 5_000L,
+        "Fetch", 5_000L);
+    private static final long DEFAULT_TYPICAL_SIZE = 10_000L;
+
+    public static class Stats {
+        private final BlockingProfile profile;
+        private final long blockedRequests;
+        private final long estimatedBytesSaved;
+        private final Map<String, Long> blockedByType;
+
+        Stats(BlockingProfile profile, long blockedRequests, long estimatedBytesSaved, Map<String, Long> blockedByType) {
+            this.profile = profile;
+            this.blockedRequests = blockedRequests;
+            this.estimatedBytesSaved = estimatedBytesSaved;
+            this.blockedByType = blockedByType;
+        }
+
+        public BlockingProfile getProfile() {
+            return profile;
+        }
+
+        public long getBlockedRequests() {
+            return blockedRequests;
+        }
+
+        public long getEstimatedBytesSaved() {
+            return estimatedBytesSaved;
+        }
+
+        public Map<String, Long> getBlockedByType() {
+            return blockedByType;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("profile=%s, blocked=%d requests, ~%d KB avoided %s",
+                profile, blockedRequests, estimatedBytesSaved / 1024, blockedByType);
+        }
+    }
+
+    private final Map<String, String> requestTypes = new HashMap<>();
+    private final Map<String, long[]> loadedByType = new HashMap<>();
+    private final Map<String, Long> blockedByType = new TreeMap<>();
+    private DevTools devTools;
+    private BlockingProfile profile = BlockingProfile.FULL;
+    private long blockedRequests;
+
+    public void attach(DevTools devTools) {
+        this.devTools = devTools;
+        devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+        devTools.addListener(Network.requestWillBeSent(), event -> onRequestStarted(
+            event.getRequestId().toString(), event.getType().map(Object::toString).orElse("Other")));
+        devTools.addListener(Network.loadingFinished(), event -> onLoadingFinished(
+            event.getRequestId().toString(), event.getEncodedDataLength().longValue()));
+        devTools.addListener(Network.loadingFailed(), event -> onLoadingFailed(
+            event.getRequestId().toString(), event.getType().toString(), event.getBlockedReason().isPresent()));
+    }
+
+    public synchronized void apply(BlockingProfile profile) {
+        if (devTools != null && profile != this.profile) {
+            devTools.send(Network.setBlockedURLs(profile.getPatterns()));
+            logger.info("Resource blocking profile {} applied ({} patterns)", profile, profile.getPatterns().size());
+        }
+        this.profile = profile;
+    }
+
+    public synchronized BlockingProfile getProfile() {
+        return profile;
+    }
+
+    synchronized void onRequestStarted(String requestId, String resourceType) {
+        if (requestTypes.size() < MAX_TRACKED_REQUESTS) {
+            requestTypes.put(requestId, resourceType);
+        }
+    }
+
+    synchronized void onLoadingFinished(String requestId, long encodedBytes) {
+        String type = requestTypes.remove(requestId);
+        if (type != null) {
+            long[] totals = loadedByType.computeIfAbsent(type, key -> new long[2]);
+            totals[0]++;
+            totals[1] += encodedBytes;
+        }
+    }
+
+    synchronized void onLoadingFailed(String requestId, String resourceType, boolean blocked) {
+        requestTypes.remove(requestId);
+        if (blocked) {
+            blockedRequests++;
+            blockedByType.merge(resourceType, 1L, Long::sum);
+        }
+    }
+
+    public synchronized Stats getStats() {
+        long bytes = 0;
+        for (Map.Entry<String, Long> entry : blockedByType.entrySet()) {
+            bytes += entry.getValue() * averageSize(entry.getKey());
+        }
+        return new Stats(profile, blockedRequests, bytes, new TreeMap<>(blockedByType));
+    }
+
+    public synchronized void resetStats() {
+        requestTypes.clear();
+        blockedByType.clear();
+        blockedRequests = 0;
+    }
+
+    private long averageSize(String resourceType) {
+        long[] totals = loadedByType.get(resourceType);
+        if (totals != null && totals[0] > 0) {
+            return totals[1] / totals[0];
+        }
+        return TYPICAL_SIZES.getOrDefault(resourceType, DEFAULT_TYPICAL_SIZE);
+    }
+}
@@ -0,0 +1,175 @@
+package com.sahibinden.devtools;
+
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v134.fetch.Fetch;
+import org.openqa.selenium.devtools.v134.fetch.model.HeaderEntry;
+import org.openqa.selenium.devtools.v134.fetch.model.RequestId;
+import org.openqa.selenium.devtools.v134.fetch.model.RequestPattern;
+import org.openqa.selenium.devtools.v134.fetch.model.RequestPaused;
+import org.openqa.selenium.devtools.v134.fetch.model.RequestStage;
+import org.openqa.selenium.devtools.v134.network.model.PostDataEntry;
+import org.openqa.selenium.devtools.v134.network.model.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records responses into a {@link ResponseStore} or fulfils requests from it, for one browser session,
+ * with CDP {@code Fetch} interception. Recording pauses each request at the response stage to read the
+ * body; replay pauses at the request stage and answers hits with {@code Fetch.fulfillRequest}, letting
+ * misses through to the network.
+ */
+public class ResponseReplayer {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseReplayer.class);
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private final ResponseStore store;
+    private final ReplayMode mode;
+    private final Collection<String> ignoredParams;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private DevTools devTools;
+
+    public ResponseReplayer(ResponseStore store, ReplayMode mode, Collection<String> ignoredParams) {
+        this.store = store;
+        this.mode = mode;
+        this.ignoredParams = Set.copyOf(ignoredParams);
+    }
+
+    public void attach(DevTools devTools) {
+        if (mode == ReplayMode.OFF) {
+            return;
+        }
+        this.devTools = devTools;
+        RequestStage stage = mode == ReplayMode.RECORD ? RequestStage.RESPONSE : RequestStage.REQUEST;
+        devTools.addListener(Fetch.requestPaused(), this::onRequestPaused);
+        devTools.send(Fetch.enable(
+            Optional.of(List.of(new RequestPattern(Optional.of("*"), Optional.empty(), Optional.of(stage)))),
+            Optional.empty()));
+        logger.info("Response {} enabled at {} stage, store has {} entries", mode.name().toLowerCase(Locale.ROOT),
+            stage, store.size());
+    }
+
+    public ReplayMode getMode() {
+        return mode;
+    }
+
+    public long getRecorded() {
+        return recorded.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void resetStats() {
+        recorded.set(0);
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return mode == ReplayMode.RECORD
+            ? String.format("recorded=%d responses", recorded.get())
+            : String.format("hits=%d, misses=%d", hits.get(), misses.get());
+    }
+
+    private void onRequestPaused(RequestPaused event) {
+        RequestId id = event.getRequestId();
+        try {
+            String key = RequestKey.of(event.getRequest().getMethod(), event.getRequest().getUrl(),
+                postData(event.getRequest()), ignoredParams);
+            if (mode == ReplayMode.RECORD) {
+                record(event, key);
+            } else if (replay(id, key)) {
+                return;
+            }
+        } catch (Exception e) {
+            logger.debug("Response {} skipped for {}: {}", mode, event.getRequest().getUrl(), e.getMessage());
+        }
+        continueRequest(id);
+    }
+
+    /**
+     * Joins the base64-encoded {@code postDataEntries} of a request into its body text, or null when the
+     * request has none. Replaces the deprecated {@code postData} field, which holds the same text.
+     */
+    static String postData(Request request) {
+        List<PostDataEntry> entries = request.getPostDataEntries().orElse(List.of());
+        if (entries.isEmpty()) {
+            return null;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (PostDataEntry entry : entries) {
+            entry.getBytes().ifPresent(bytes -> body.writeBytes(Base64.getDecoder().decode(bytes)));
+        }
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private void record(RequestPaused event, String key) {
+        if (event.getResponseErrorReason().isPresent() || event.getResponseStatusCode().isEmpty()) {
+            return;
+        }
+        int status = event.getResponseStatusCode().get();
+        byte[] body = new byte[0];
+        if (status < 300 || status >= 400) {
+            Fetch.GetResponseBodyResponse response = devTools.send(Fetch.getResponseBody(event.getRequestId()));
+            body = Boolean.TRUE.equals(response.getBase64Encoded())
+                ? Base64.getDecoder().decode(response.getBody())
+                : response.getBody().getBytes(StandardCharsets.UTF_8);
+        }
+
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (HeaderEntry header : event.getResponseHeaders().orElse(List.of())) {
+            if (!DROPPED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                headers.add(Map.entry(header.getName(), header.getValue()));
+            }
+        }
+        store.put(key, new ResponseStore.Entry(status, headers, body));
+        recorded.incrementAndGet();
+    }
+
+    private boolean replay(RequestId id, String key) {
+        Optional<ResponseStore.Entry> entry = store.get(key);
+        if (entry.isEmpty()) {
+            misses.incrementAndGet();
+            logger.debug("Replay miss: {}", key);
+            return false;
+        }
+
+        List<HeaderEntry> headers = new ArrayList<>();
+        for (Map.Entry<String, String> header : entry.get().getHeaders()) {
+            headers.add(new HeaderEntry(header.getKey(), header.getValue()));
+        }
+        devTools.send(Fetch.fulfillRequest(id, entry.get().getStatus(), Optional.of(headers), Optional.empty(),
+            Optional.of(Base64.getEncoder().encodeToString(entry.get().getBody())), Optional.empty()));
+        hits.incrementAndGet();
+        return true;
+    }
+
+    private void continueRequest(RequestId id) {
+        try {
+            devTools.send(Fetch.continueRequest(id, Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty()));
+        } catch (Exception e) {
+            logger.debug("Could not continue paused request: {}", e.getMessage());
+        }
+    }
+}
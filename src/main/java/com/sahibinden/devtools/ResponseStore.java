@@ -0,0 +1,219 @@
+package com.sahibinden.devtools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only file of recorded responses keyed by {@link RequestKey}. Records are self-describing, so the
+ * in-memory index is rebuilt by scanning the file on open and a torn record at the tail is truncated.
+ * Reads go through a shared read-only memory mapping; every session in the JVM, and every fork replaying
+ * the same store, reads the same page-cache copy. The later of two records with the same key wins.
+ */
+public class ResponseStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseStore.class);
+    private static final String DATA_FILE = "responses.dat";
+
+    public static class Entry {
+        private final int status;
+        private final List<Map.Entry<String, String>> headers;
+        private final byte[] body;
+
+        public Entry(int status, List<Map.Entry<String, String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public List<Map.Entry<String, String>> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer mapped;
+
+    public ResponseStore(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            this.file = directory.resolve(DATA_FILE);
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long valid = rebuildIndex();
+            if (valid < channel.size()) {
+                logger.warn("Truncating {} bytes of incomplete records from {}", channel.size() - valid, file);
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            logger.info("Response store {} opened with {} entries ({} KB)", file, index.size(), valid / 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open response store in " + directory, e);
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.body.length + 512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeString(out, key);
+            out.writeInt(entry.status);
+            out.writeInt(entry.headers.size());
+            for (Map.Entry<String, String> header : entry.headers) {
+                writeString(out, header.getKey());
+                writeString(out, header.getValue());
+            }
+            out.writeInt(entry.body.length);
+            out.write(entry.body);
+            out.flush();
+
+            long offset = channel.size();
+            if (offset + bytes.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Response store " + file + " is full, start a new one");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            index.put(key, offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to response store " + file, e);
+        }
+    }
+
+    public Optional<Entry> get(String key) {
+        Long offset = index.get(key);
+        if (offset == null) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = mapping(offset).duplicate();
+        buffer.position(offset.intValue());
+        skipString(buffer);
+        int status = buffer.getInt();
+        int headerCount = buffer.getInt();
+        List<Map.Entry<String, String>> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(Map.entry(readString(buffer), readString(buffer)));
+        }
+        byte[] body = new byte[readLength(buffer)];
+        buffer.get(body);
+        return Optional.of(new Entry(status, headers, body));
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Error closing response store {}: {}", file, e.getMessage());
+        }
+    }
+
+    private MappedByteBuffer mapping(long offset) {
+        MappedByteBuffer current = mapped;
+        if (current == null || offset >= current.capacity()) {
+            synchronized (this) {
+                current = mapped;
+                if (current == null || offset >= current.capacity()) {
+                    try {
+                        current = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                        mapped = current;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not map response store " + file, e);
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private long rebuildIndex() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Response store " + file + " is larger than 2 GB");
+        }
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int valid = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                String key = readString(buffer);
+                buffer.getInt();
+                int headerCount = buffer.getInt();
+                for (int i = 0; i < headerCount * 2; i++) {
+                    skipString(buffer);
+                }
+                int bodyLength = readLength(buffer);
+                buffer.position(buffer.position() + bodyLength);
+                index.put(key, (long) start);
+                valid = buffer.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // torn record at the tail, everything before it is intact
+        }
+        return valid;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readLength(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer buffer) {
+        int length = readLength(buffer);
+        buffer.position(buffer.position() + length);
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,155 @@
+package com.sahibinden.devtools;
+
+import com.sahibinden.util.AsyncArtifactWriter;
+import com.sahibinden.util.TimingRegistry;
+import jakarta.annotation.PreDestroy;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v134.page.Page;
+import org.openqa.selenium.devtools.v134.page.model.Viewport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Captures screenshots over CDP {@code Page.captureScreenshot} with the configured format, quality and
+ * scale, and hands the base64 payload to an {@link AsyncArtifactWriter}, so decoding and disk I/O happen
+ * off the test thread. {@code test.screenshot.scale} multiplies the device pixel ratio; at 1.0 and without
+ * {@code full.page} no clip is sent. Sessions without DevTools, and CDP captures that fail (for example on a
+ * detached target or a bad clip), fall back to WebDriver's PNG screenshot.
+ */
+@Component
+public class ScreenshotCapture {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotCapture.class);
+    private static final String VIEWPORT_SCRIPT =
+        "var d = document.documentElement;" +
+        "return [window.scrollX, window.scrollY, window.innerWidth, window.innerHeight, d.scrollWidth, d.scrollHeight];";
+
+    @Value("${test.screenshot.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${test.screenshot.path:target/screenshots/}")
+    private String screenshotPath = "target/screenshots/";
+
+    @Value("${test.screenshot.format:png}")
+    private String format = "png";
+
+    @Value("${test.screenshot.quality:80}")
+    private int quality = 80;
+
+    @Value("${test.screenshot.scale:1.0}")
+    private double scale = 1.0;
+
+    @Value("${test.screenshot.full.page:false}")
+    private boolean fullPage;
+
+    @Value("${test.screenshot.queue.capacity:16}")
+    private int queueCapacity = 16;
+
+    @Value("${test.screenshot.enqueue.timeout:2000}")
+    private long enqueueTimeoutMillis = 2000;
+
+    private volatile AsyncArtifactWriter writer;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void capture(WebDriver driver, Optional<DevTools> devTools, String name) {
+        if (!enabled || driver == null) {
+            return;
+        }
+        try (TimingRegistry.Timer ignored = TimingRegistry.start("screenshot: capture")) {
+            Page.CaptureScreenshotFormat captureFormat = captureFormat();
+            String base64 = null;
+            String extension = captureFormat.toString();
+            if (devTools.isPresent()) {
+                try {
+                    base64 = captureOverCdp(devTools.get(), driver, captureFormat);
+                } catch (Exception e) {
+                    logger.warn("CDP screenshot failed, falling back to WebDriver: {}", e.getMessage());
+                }
+            }
+            if (base64 == null) {
+                if (!(driver instanceof TakesScreenshot)) {
+                    return;
+                }
+                base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+                extension = "png";
+            }
+            String payload = base64;
+            Path target = Paths.get(screenshotPath).resolve(name + "." + extension);
+            writer().submit(target, () -> Base64.getDecoder().decode(payload));
+        } catch (Exception e) {
+            logger.error("Error taking screenshot: {}", e.getMessage());
+        }
+    }
+
+    private String captureOverCdp(DevTools devTools, WebDriver driver, Page.CaptureScreenshotFormat captureFormat) {
+        return devTools.send(Page.captureScreenshot(
+            Optional.of(captureFormat),
+            captureFormat == Page.CaptureScreenshotFormat.PNG ? Optional.empty() : Optional.of(quality),
+            clip(driver),
+            Optional.empty(),
+            Optional.of(fullPage),
+            Optional.of(true)));
+    }
+
+    private Page.CaptureScreenshotFormat captureFormat() {
+        try {
+            return Page.CaptureScreenshotFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown screenshot format '{}', using png", format);
+            return Page.CaptureScreenshotFormat.PNG;
+        }
+    }
+
+    private Optional<Viewport> clip(WebDriver driver) {
+        if (scale == 1.0 && !fullPage) {
+            return Optional.empty();
+        }
+        List<?> metrics = (List<?>) ((JavascriptExecutor) driver).executeScript(VIEWPORT_SCRIPT);
+        double x = fullPage ? 0 : number(metrics, 0);
+        double y = fullPage ? 0 : number(metrics, 1);
+        double width = number(metrics, fullPage ? 4 : 2);
+        double height = number(metrics, fullPage ? 5 : 3);
+        return Optional.of(new Viewport(x, y, width, height, scale));
+    }
+
+    private static double number(List<?> values, int index) {
+        return ((Number) values.get(index)).doubleValue();
+    }
+
+    private AsyncArtifactWriter writer() {
+        AsyncArtifactWriter current = writer;
+        if (current == null) {
+            synchronized (this) {
+                current = writer;
+                if (current == null) {
+                    current = new AsyncArtifactWriter("screenshot", queueCapacity, enqueueTimeoutMillis);
+                    writer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void flush() {
+        AsyncArtifactWriter current = writer;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sahibinden.devtools;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SessionSnapshot {
+    private final String origin;
+    private final Instant capturedAt;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+
+    public SessionSnapshot(String origin, Instant capturedAt, Collection<Cookie> cookies,
+                           Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.origin = origin;
+        this.capturedAt = capturedAt;
+        this.cookies = List.copyOf(cookies);
+        this.localStorage = Map.copyOf(localStorage);
+        this.sessionStorage = Map.copyOf(sessionStorage);
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public boolean isFresh(Duration maxAge, Instant now) {
+        return !cookies.isEmpty() && capturedAt.plus(maxAge).isAfter(now);
+    }
+
+    public List<Cookie> getLiveCookies(Instant now) {
+        List<Cookie> live = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() == null || cookie.getExpiry().toInstant().isAfter(now)) {
+                live.add(cookie);
+            }
+        }
+        return live;
+    }
+
+    public Map<String, Object> toJson() {
+        List<Map<String, Object>> cookieList = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("name", cookie.getName());
+            values.put("value", cookie.getValue());
+            values.put("domain", cookie.getDomain());
+            values.put("path", cookie.getPath());
+            values.put("expiry", cookie.getExpiry() != null ? cookie.getExpiry().getTime() / 1000 : null);
+            values.put("secure", cookie.isSecure());
+            values.put("httpOnly", cookie.isHttpOnly());
+            values.put("sameSite", cookie.getSameSite());
+            cookieList.add(values);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("origin", origin);
+        json.put("capturedAt", capturedAt.toString());
+        json.put("cookies", cookieList);
+        json.put("localStorage", localStorage);
+        json.put("sessionStorage", sessionStorage);
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot fromJson(Map<String, Object> json) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (Map<String, Object> values : (List<Map<String, Object>>) json.getOrDefault("cookies", List.of())) {
+            Number expiry = (Number) values.get("expiry");
+            cookies.add(new Cookie.Builder((String) values.get("name"), (String) values.get("value"))
+                .domain((String) values.get("domain"))
+                .path((String) values.get("path"))
+                .expiresOn(expiry != null ? new Date(expiry.longValue() * 1000) : null)
+                .isSecure(Boolean.TRUE.equals(values.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(values.get("httpOnly")))
+                .sameSite((String) values.get("sameSite"))
+                .build());
+        }
+        return new SessionSnapshot(
+            (String) json.get("origin"),
+            Instant.parse((String) json.get("capturedAt")),
+            cookies,
+            (Map<String, String>) json.getOrDefault("localStorage", Map.of()),
+            (Map<String, String>) json.getOrDefault("sessionStorage", Map.of()));
+    }
+}
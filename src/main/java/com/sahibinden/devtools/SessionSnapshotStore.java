@@ -0,0 +1,198 @@
+package com.sahibinden.devtools;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v134.network.Network;
+import org.openqa.selenium.devtools.v134.network.model.CookieParam;
+import org.openqa.selenium.devtools.v134.network.model.CookieSameSite;
+import org.openqa.selenium.devtools.v134.network.model.TimeSinceEpoch;
+import org.openqa.selenium.devtools.v134.page.Page;
+import org.openqa.selenium.devtools.v134.page.model.ScriptIdentifier;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists cookies and web storage of a bootstrapped session per profile and seeds them into other
+ * sessions over CDP: cookies through {@code Network.setCookies}, storage through a script that runs
+ * before the first document of the snapshot's origin, so no extra page load is needed.
+ */
+@Component
+public class SessionSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(SessionSnapshotStore.class);
+    private static final String RESTORED_MARKER = "__sessionSnapshotRestored";
+    private static final String CAPTURE_SCRIPT =
+        "function dump(storage) {" +
+        "  var values = {};" +
+        "  for (var i = 0; i < storage.length; i++) {" +
+        "    var key = storage.key(i);" +
+        "    if (key !== '" + RESTORED_MARKER + "') { values[key] = storage.getItem(key); }" +
+        "  }" +
+        "  return values;" +
+        "}" +
+        "return { origin: location.origin, local: dump(localStorage), session: dump(sessionStorage) };";
+
+    private final Json json = new Json();
+    private final Map<String, SessionSnapshot> cache = new ConcurrentHashMap<>();
+    private final Map<DevTools, ScriptIdentifier> seedScripts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Value("${test.snapshot.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${test.snapshot.path:target/session-snapshots}")
+    private String snapshotPath = "target/session-snapshots";
+
+    @Value("${test.snapshot.max.age:43200}")
+    private long maxAgeSeconds = 43200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<SessionSnapshot> load(String profile) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        SessionSnapshot snapshot = cache.computeIfAbsent(profile, this::read);
+        if (snapshot != null && snapshot.isFresh(Duration.ofSeconds(maxAgeSeconds), Instant.now())) {
+            return Optional.of(snapshot);
+        }
+        return Optional.empty();
+    }
+
+    public void save(String profile, SessionSnapshot snapshot) {
+        if (!enabled) {
+            return;
+        }
+        Path file = fileFor(profile);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), profile, ".tmp");
+            Files.writeString(temp, json.toJson(snapshot.toJson()), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            cache.put(profile, snapshot);
+            logger.info("Saved {} session snapshot with {} cookies to {}", profile, snapshot.getCookies().size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save {} session snapshot: {}", profile, e.getMessage());
+        }
+    }
+
+    public void invalidate(String profile) {
+        cache.remove(profile);
+        try {
+            Files.deleteIfExists(fileFor(profile));
+        } catch (IOException e) {
+            logger.warn("Could not delete {} session snapshot: {}", profile, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public SessionSnapshot capture(WebDriver driver) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        return new SessionSnapshot(
+            (String) storage.get("origin"),
+            Instant.now(),
+            driver.manage().getCookies(),
+            (Map<String, String>) storage.getOrDefault("local", Map.of()),
+            (Map<String, String>) storage.getOrDefault("session", Map.of()));
+    }
+
+    public boolean restore(Optional<DevTools> devTools, SessionSnapshot snapshot) {
+        if (devTools.isEmpty()) {
+            return false;
+        }
+        try {
+            DevTools tools = devTools.get();
+            List<CookieParam> cookies = new ArrayList<>();
+            for (Cookie cookie : snapshot.getLiveCookies(Instant.now())) {
+                cookies.add(toCookieParam(cookie, snapshot.getOrigin()));
+            }
+            tools.send(Network.setCookies(cookies));
+
+            ScriptIdentifier previous = seedScripts.remove(tools);
+            if (previous != null) {
+                tools.send(Page.removeScriptToEvaluateOnNewDocument(previous));
+            }
+            if (!snapshot.getLocalStorage().isEmpty() || !snapshot.getSessionStorage().isEmpty()) {
+                ScriptIdentifier script = tools.send(Page.addScriptToEvaluateOnNewDocument(
+                    seedScript(snapshot), Optional.empty(), Optional.empty(), Optional.empty()));
+                seedScripts.put(tools, script);
+            }
+            logger.info("Restored session snapshot from {} ({} cookies)", snapshot.getCapturedAt(), cookies.size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not restore session snapshot: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    String seedScript(SessionSnapshot snapshot) {
+        return "(function (origin, local, session) {" +
+            "  if (location.origin !== origin) { return; }" +
+            "  function seed(storage, values) {" +
+            "    if (storage.getItem('" + RESTORED_MARKER + "')) { return; }" +
+            "    Object.keys(values).forEach(function (key) { storage.setItem(key, values[key]); });" +
+            "    storage.setItem('" + RESTORED_MARKER + "', '1');" +
+            "  }" +
+            "  try { seed(localStorage, local); seed(sessionStorage, session); } catch (e) { }" +
+            "})(" + json.toJson(snapshot.getOrigin()) + ", " + json.toJson(snapshot.getLocalStorage()) + ", "
+            + json.toJson(snapshot.getSessionStorage()) + ");";
+    }
+
+    private CookieParam toCookieParam(Cookie cookie, String origin) {
+        boolean hasDomain = cookie.getDomain() != null && !cookie.getDomain().isEmpty();
+        return new CookieParam(
+            cookie.getName(),
+            cookie.getValue(),
+            hasDomain ? Optional.empty() : Optional.ofNullable(origin),
+            Optional.ofNullable(cookie.getDomain()).filter(domain -> !domain.isEmpty()),
+            Optional.ofNullable(cookie.getPath()),
+            Optional.of(cookie.isSecure()),
+            Optional.of(cookie.isHttpOnly()),
+            Optional.ofNullable(cookie.getSameSite()).map(CookieSameSite::fromString),
+            Optional.ofNullable(cookie.getExpiry()).map(expiry -> new TimeSinceEpoch(expiry.getTime() / 1000)),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty());
+    }
+
+    private SessionSnapshot read(String profile) {
+        Path file = fileFor(profile);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            Map<String, Object> values = json.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            return SessionSnapshot.fromJson(values);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable {} session snapshot: {}", profile, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path fileFor(String profile) {
+        return Paths.get(snapshotPath, profile + ".json");
+    }
+}
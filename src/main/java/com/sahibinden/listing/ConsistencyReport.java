@@ -0,0 +1,108 @@
+package com.sahibinden.listing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects listing-versus-detail comparisons for one result page. Prices must match to the kuruş; titles
+ * match when one contains the other after case and whitespace are normalised, since the detail heading
+ * may carry more of the model name than the listing card.
+ */
+public final class ConsistencyReport {
+
+    public enum Field {
+        TITLE,
+        PRICE,
+        DETAIL_PAGE
+    }
+
+    private final List<Mismatch> mismatches = new ArrayList<>();
+    private int checked;
+
+    public void check(int index, String url, String listingTitle, long listingPrice, String detailTitle, long detailPrice) {
+        checked++;
+        if (listingPrice == TurkishPriceParser.INVALID || listingPrice != detailPrice) {
+            mismatches.add(new Mismatch(index, url, Field.PRICE, String.valueOf(listingPrice), String.valueOf(detailPrice)));
+        }
+        if (!titlesMatch(listingTitle, detailTitle)) {
+            mismatches.add(new Mismatch(index, url, Field.TITLE, listingTitle, detailTitle));
+        }
+    }
+
+    public void unreachable(int index, String url, String reason) {
+        checked++;
+        mismatches.add(new Mismatch(index, url, Field.DETAIL_PAGE, "loaded", reason));
+    }
+
+    public int getChecked() {
+        return checked;
+    }
+
+    public List<Mismatch> getMismatches() {
+        return Collections.unmodifiableList(mismatches);
+    }
+
+    public boolean isConsistent() {
+        return checked > 0 && mismatches.isEmpty();
+    }
+
+    public String summary() {
+        return String.format("%d listings checked, %d mismatches", checked, mismatches.size());
+    }
+
+    static boolean titlesMatch(String listingTitle, String detailTitle) {
+        String listing = normalise(listingTitle);
+        String detail = normalise(detailTitle);
+        if (listing.isEmpty() || detail.isEmpty()) {
+            return false;
+        }
+        return listing.contains(detail) || detail.contains(listing);
+    }
+
+    private static String normalise(String title) {
+        return title == null ? "" : title.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Mismatch {
+        private final int index;
+        private final String url;
+        private final Field field;
+        private final String listingValue;
+        private final String detailValue;
+
+        Mismatch(int index, String url, Field field, String listingValue, String detailValue) {
+            this.index = index;
+            this.url = url;
+            this.field = field;
+            this.listingValue = listingValue;
+            this.detailValue = detailValue;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getListingValue() {
+            return listingValue;
+        }
+
+        public String getDetailValue() {
+            return detailValue;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d %s: listing '%s' vs detail '%s' (%s)", index + 1, field, listingValue, detailValue, url);
+        }
+    }
+}
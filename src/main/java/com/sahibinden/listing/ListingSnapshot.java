@@ -0,0 +1,142 @@
+package com.sahibinden.listing;
+
+import java.util.Arrays;
+
+/**
+ * Listings read from one result page, held as parallel arrays: interned titles and prices in kuruş
+ * ({@link TurkishPriceParser#INVALID} where the price could not be read). Order and threshold checks
+ * work on the primitive array directly.
+ */
+public final class ListingSnapshot {
+    public static final int NONE = -1;
+
+    private final String[] titles;
+    private final long[] prices;
+    private final int size;
+
+    private ListingSnapshot(String[] titles, long[] prices, int size) {
+        this.titles = titles;
+        this.prices = prices;
+        this.size = size;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String title(int index) {
+        checkIndex(index);
+        return titles[index];
+    }
+
+    public long price(int index) {
+        checkIndex(index);
+        return prices[index];
+    }
+
+    public boolean hasPrice(int index) {
+        return price(index) != TurkishPriceParser.INVALID;
+    }
+
+    public int pricedCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (prices[i] != TurkishPriceParser.INVALID) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int firstOutOfOrder(YepyListingQuery.Sort order) {
+        return firstOutOfOrder(order, TurkishPriceParser.INVALID);
+    }
+
+    /**
+     * Returns the index of the first priced listing that is out of order relative to the previous priced
+     * listing, or {@link #NONE} when the page follows {@code order}. Listings without a price are skipped.
+     * {@code previous} is the last price of the preceding page, so order can be checked across pages.
+     */
+    public int firstOutOfOrder(YepyListingQuery.Sort order, long previous) {
+        boolean descending = order == YepyListingQuery.Sort.PRICE_DESC;
+        for (int i = 0; i < size; i++) {
+            long price = prices[i];
+            if (price == TurkishPriceParser.INVALID) {
+                continue;
+            }
+            if (previous != TurkishPriceParser.INVALID && (descending ? price > previous : price < previous)) {
+                return i;
+            }
+            previous = price;
+        }
+        return NONE;
+    }
+
+    public long lastPrice() {
+        int last = previousPriced(size);
+        return last == NONE ? TurkishPriceParser.INVALID : prices[last];
+    }
+
+    public int previousPriced(int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (prices[i] != TurkishPriceParser.INVALID) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    public int firstAbove(long maxKurus) {
+        for (int i = 0; i < size; i++) {
+            if (prices[i] != TurkishPriceParser.INVALID && prices[i] > maxKurus) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Listing index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    public static final class Builder {
+        private String[] titles;
+        private long[] prices;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 8);
+            this.titles = new String[capacity];
+            this.prices = new long[capacity];
+        }
+
+        public Builder add(String title, CharSequence priceText) {
+            return add(title, TurkishPriceParser.parseKurus(priceText));
+        }
+
+        public Builder add(String title, long priceKurus) {
+            if (size == prices.length) {
+                titles = Arrays.copyOf(titles, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            titles[size] = title == null ? null : title.trim().intern();
+            prices[size] = priceKurus < 0 ? TurkishPriceParser.INVALID : priceKurus;
+            size++;
+            return this;
+        }
+
+        public ListingSnapshot build() {
+            return new ListingSnapshot(Arrays.copyOf(titles, size), Arrays.copyOf(prices, size), size);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sahibinden.listing;
+
+/**
+ * Single-pass parser for Turkish lira amounts such as {@code "12.500 TL"} or {@code "1.234,56 TL"}.
+ * Dots group thousands and a comma starts up to two kuruş digits. Text before the first digit
+ * (currency symbols, labels) is skipped, and the amount ends at the first character that cannot belong to it.
+ * Results are whole kuruş, so no strings or boxed values are created per call.
+ */
+public final class TurkishPriceParser {
+    public static final long INVALID = -1;
+
+    private static final long KURUS_PER_LIRA = 100;
+    private static final long MAX_LIRA = Long.MAX_VALUE / KURUS_PER_LIRA / 10;
+
+    private TurkishPriceParser() {
+    }
+
+    public static long parseKurus(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        long lira = 0;
+        int integerDigits = 0;
+        int groupDigits = -1;
+        int fraction = 0;
+        int fractionDigits = -1;
+
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fractionDigits >= 0) {
+                    if (fractionDigits == 2) {
+                        return INVALID;
+                    }
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else {
+                    if (lira > MAX_LIRA) {
+                        return INVALID;
+                    }
+                    lira = lira * 10 + (c - '0');
+                    integerDigits++;
+                    if (groupDigits >= 0) {
+                        groupDigits++;
+                    }
+                }
+            } else if (integerDigits == 0) {
+                continue;
+            } else if (c == '.' && fractionDigits < 0) {
+                if (groupDigits < 0 ? integerDigits > 3 : groupDigits != 3) {
+                    return INVALID;
+                }
+                groupDigits = 0;
+            } else if (c == ',' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+
+        if (integerDigits == 0 || (groupDigits >= 0 && groupDigits != 3)) {
+            return INVALID;
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        return lira * KURUS_PER_LIRA + fraction;
+    }
+
+    public static long toLira(long kurus) {
+        return kurus == INVALID ? INVALID : kurus / KURUS_PER_LIRA;
+    }
+
+    public static long toKurus(long lira) {
+        return lira * KURUS_PER_LIRA;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sahibinden.listing;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Typed listing state for the refurbished-phone results page (price range, brand, cosmetic condition,
+ * sort order). {@link #toUrl(String)} renders the same URL the filter widgets produce, so a test can
+ * open a filtered result page with one navigation.
+ */
+public final class YepyListingQuery {
+    public static final String LISTING_PATH = "/yepy/yenilenmis-telefonlar";
+
+    public enum Condition {
+        EXCELLENT("excellent"),
+        VERY_GOOD("very_good"),
+        FAIR("fair");
+
+        private final String value;
+
+        Condition(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+    }
+
+    public enum Sort {
+        PRICE_ASC("price_asc"),
+        PRICE_DESC("price_desc");
+
+        private final String value;
+
+        Sort(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+    }
+
+    private final Long minPrice;
+    private final Long maxPrice;
+    private final String brand;
+    private final Set<Condition> conditions;
+    private final Sort sort;
+
+    private YepyListingQuery(Builder builder) {
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+        this.brand = builder.brand;
+        this.conditions = Collections.unmodifiableSet(EnumSet.copyOf(builder.conditions));
+        this.sort = builder.sort;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static YepyListingQuery all() {
+        return builder().build();
+    }
+
+    public Long getMinPrice() {
+        return minPrice;
+    }
+
+    public Long getMaxPrice() {
+        return maxPrice;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public Set<Condition> getConditions() {
+        return conditions;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public String toPath() {
+        StringBuilder path = new StringBuilder(LISTING_PATH);
+        if (brand != null) {
+            path.append('/').append(encode(brand));
+        }
+
+        List<String> params = new ArrayList<>();
+        if (minPrice != null) {
+            params.add("price_min=" + minPrice);
+        }
+        if (maxPrice != null) {
+            params.add("price_max=" + maxPrice);
+        }
+        for (Condition condition : conditions) {
+            params.add("condition=" + condition.value());
+        }
+        if (sort != null) {
+            params.add("sorting=" + sort.value());
+        }
+        if (!params.isEmpty()) {
+            path.append('?').append(String.join("&", params));
+        }
+        return path.toString();
+    }
+
+    public String toUrl(String baseUrl) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return base + toPath();
+    }
+
+    @Override
+    public String toString() {
+        return toPath();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    public static final class Builder {
+        private Long minPrice;
+        private Long maxPrice;
+        private String brand;
+        private final Set<Condition> conditions = EnumSet.noneOf(Condition.class);
+        private Sort sort;
+
+        private Builder() {
+        }
+
+        public Builder minPrice(long minPrice) {
+            this.minPrice = requireNonNegative(minPrice, "minPrice");
+            return this;
+        }
+
+        public Builder maxPrice(long maxPrice) {
+            this.maxPrice = requireNonNegative(maxPrice, "maxPrice");
+            return this;
+        }
+
+        public Builder brand(String brand) {
+            this.brand = brand == null || brand.isBlank() ? null : brand.trim().toLowerCase(Locale.ROOT);
+            return this;
+        }
+
+        public Builder condition(Condition condition) {
+            conditions.add(condition);
+            return this;
+        }
+
+        public Builder sort(Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+
+        public YepyListingQuery build() {
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                throw new IllegalArgumentException("minPrice " + minPrice + " is above maxPrice " + maxPrice);
+            }
+            return new YepyListingQuery(this);
+        }
+
+        private static long requireNonNegative(long value, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " must not be negative: " + value);
+            }
+            return value;
+        }
+    }
+}
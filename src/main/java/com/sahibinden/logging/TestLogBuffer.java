@@ -0,0 +1,220 @@
+package com.sahibinden.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logback appender that holds the events of each running test in its own bounded buffer, keyed by the
+ * {@value #MDC_KEY} MDC value. Events without an open buffer (framework threads, context startup) go
+ * straight to the attached appenders. When a test ends the buffer is either replayed in full
+ * ({@link #flush(String)}) or dropped with its counts ({@link #discard(String)}). Each buffer is only
+ * written by the test's own thread, so there is no appender-wide lock.
+ */
+public class TestLogBuffer extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+    public static final String MDC_KEY = "test";
+
+    private static volatile TestLogBuffer active;
+
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private int capacity = 5000;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static boolean isActive() {
+        return active != null;
+    }
+
+    public static void open(String testId) {
+        TestLogBuffer appender = active;
+        if (appender != null) {
+            appender.openBuffer(testId);
+        }
+    }
+
+    /**
+     * Replays the buffered events of {@code testId} to the attached appenders and returns their counts.
+     */
+    public static Summary flush(String testId) {
+        TestLogBuffer appender = active;
+        return appender != null ? appender.flushBuffer(testId) : Summary.EMPTY;
+    }
+
+    public static Summary discard(String testId) {
+        TestLogBuffer appender = active;
+        return appender != null ? appender.discardBuffer(testId) : Summary.EMPTY;
+    }
+
+    void openBuffer(String testId) {
+        buffers.put(testId, new Buffer(capacity));
+    }
+
+    Summary flushBuffer(String testId) {
+        Buffer buffer = buffers.remove(testId);
+        if (buffer == null) {
+            return Summary.EMPTY;
+        }
+        synchronized (buffer) {
+            for (ILoggingEvent event : buffer.events) {
+                appenders.appendLoopOnAppenders(event);
+            }
+            return buffer.summary();
+        }
+    }
+
+    Summary discardBuffer(String testId) {
+        Buffer buffer = buffers.remove(testId);
+        if (buffer == null) {
+            return Summary.EMPTY;
+        }
+        synchronized (buffer) {
+            return buffer.summary();
+        }
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+        for (String testId : buffers.keySet()) {
+            flushBuffer(testId);
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String testId = event.getMDCPropertyMap().get(MDC_KEY);
+        Buffer buffer = testId != null ? buffers.get(testId) : null;
+        if (buffer == null) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        synchronized (buffer) {
+            buffer.add(event);
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    private static final class Buffer {
+        private final ArrayDeque<ILoggingEvent> events = new ArrayDeque<>();
+        private final int capacity;
+        private int total;
+        private int dropped;
+        private int warnings;
+        private int errors;
+
+        private Buffer(int capacity) {
+            this.capacity = Math.max(1, capacity);
+        }
+
+        private void add(ILoggingEvent event) {
+            total++;
+            if (event.getLevel() == Level.ERROR) {
+                errors++;
+            } else if (event.getLevel() == Level.WARN) {
+                warnings++;
+            }
+            if (events.size() == capacity) {
+                events.pollFirst();
+                dropped++;
+            }
+            events.addLast(event);
+        }
+
+        private Summary summary() {
+            return new Summary(total, dropped, warnings, errors);
+        }
+    }
+
+    public static final class Summary {
+        static final Summary EMPTY = new Summary(0, 0, 0, 0);
+
+        private final int events;
+        private final int dropped;
+        private final int warnings;
+        private final int errors;
+
+        Summary(int events, int dropped, int warnings, int errors) {
+            this.events = events;
+            this.dropped = dropped;
+            this.warnings = warnings;
+            this.errors = errors;
+        }
+
+        public int getEvents() {
+            return events;
+        }
+
+        public int getDropped() {
+            return dropped;
+        }
+
+        public int getWarnings() {
+            return warnings;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d events, %d warnings, %d errors%s", events, warnings, errors,
+                dropped > 0 ? ", " + dropped + " oldest dropped" : "");
+        }
+    }
+}
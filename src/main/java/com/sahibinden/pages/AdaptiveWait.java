@@ -0,0 +1,99 @@
+package com.sahibinden.pages;
+
+import com.sahibinden.util.TimingRegistry;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Explicit wait that polls quickly at first and backs off towards {@code maxInterval}, so conditions
+ * that are already true return in milliseconds while long waits don't hammer the driver.
+ * Every wait records its duration in {@link TimingRegistry} under {@code wait: <description>}; give each
+ * wait a fixed description with {@link #withMessage}, since unnamed waits all share {@code wait: unnamed}.
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveWait.class);
+    private static final Duration INITIAL_INTERVAL = Duration.ofMillis(25);
+    private static final Duration MAX_INTERVAL = Duration.ofMillis(500);
+    private static final double BACKOFF_FACTOR = 1.6;
+    private static final Duration SLOW_WAIT_THRESHOLD = Duration.ofSeconds(2);
+    static final String UNNAMED = "unnamed";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final String message;
+
+    public AdaptiveWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, null);
+    }
+
+    private AdaptiveWait(WebDriver driver, Duration timeout, String message) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.message = message;
+    }
+
+    public AdaptiveWait withTimeout(Duration timeout) {
+        return new AdaptiveWait(driver, timeout, message);
+    }
+
+    public AdaptiveWait withMessage(String message) {
+        return new AdaptiveWait(driver, timeout, message);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        String description = message != null ? message : UNNAMED;
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = INITIAL_INTERVAL.toNanos();
+        RuntimeException lastError = null;
+
+        try {
+            while (true) {
+                try {
+                    V value = isTrue.apply(driver);
+                    if (value != null && (!(value instanceof Boolean) || Boolean.TRUE.equals(value))) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException(String.format("Expected condition failed: %s (tried for %d ms)",
+                        message != null ? message : isTrue, timeout.toMillis()), lastError);
+                }
+                sleep(Math.min(interval, remaining));
+                interval = Math.min(MAX_INTERVAL.toNanos(), (long) (interval * BACKOFF_FACTOR));
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            TimingRegistry.record("wait: " + description, elapsed);
+            if (elapsed > SLOW_WAIT_THRESHOLD.toNanos()) {
+                logger.warn("Slow wait ({} ms): {}", Duration.ofNanos(elapsed).toMillis(), description);
+            }
+        }
+    }
+
+    private void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
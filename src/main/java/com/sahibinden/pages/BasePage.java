@@ -1,10 +1,12 @@
 package com.sahibinden.pages;
 
+import com.sahibinden.config.WebDriverManager;
+import com.sahibinden.devtools.NetworkIdleTracker;
+import com.sahibinden.util.StepRetry;
+import com.sahibinden.util.TimingRegistry;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,25 +15,48 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.openqa.selenium.support.FindBy;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 @Component
 public abstract class BasePage {
     private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
     private static final int RESPONSIVE_BREAKPOINT = 767;
+    private static final By COOKIE_ACCEPT_BUTTON = By.id("onetrust-accept-btn-handler");
+    protected static final String CONSENT_COOKIE = "OptanonAlertBoxClosed";
+    protected static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(20);
+    protected static final Duration COOKIE_BANNER_TIMEOUT = Duration.ofSeconds(3);
+    protected static final Duration NETWORK_QUIET_WINDOW = Duration.ofMillis(300);
 
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected AdaptiveWait wait;
     protected Actions actions;
     protected JavascriptExecutor js;
-    protected boolean isResponsiveMode;
+    private WebDriverManager driverManager;
 
     @Value("${test.base.url}")
     protected String baseUrl;
 
+    @Value("${browser.settle.quiet.window:500}")
+    protected long settleQuietWindowMillis = 500;
+
+    @Value("${browser.settle.timeout:10}")
+    protected long settleTimeoutSeconds = 10;
+
+    @Value("${test.retry.count:3}")
+    protected int retryCount = 3;
+
+    @Value("${test.retry.backoff:250}")
+    protected long retryBackoffMillis = 250;
+
+    @Value("${test.retry.max.backoff:2000}")
+    protected long retryMaxBackoffMillis = 2000;
+
     @FindBy(xpath = "//button[@id='onetrust-accept-btn-handler']")
-    private WebElement acceptCookiesButton;
+    WebElement acceptCookiesButton;
     
     @FindBy(css = "iframe[title='Cloudflare Security']")
     protected WebElement cloudflareFrame;
@@ -42,30 +67,26 @@ public abstract class BasePage {
     @Autowired
     public BasePage(@Qualifier("webDriver") WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        this.wait = new AdaptiveWait(driver, DEFAULT_WAIT_TIMEOUT);
         this.actions = new Actions(driver);
         this.js = (JavascriptExecutor) driver;
-        PageFactory.initElements(driver, this);
-        this.isResponsiveMode = false;
+        PageBinders.bind(this, driver);
     }
 
-    protected boolean setResponsiveMode(boolean isResponsive) {
-        try {
-            this.isResponsiveMode = isResponsive;
-            logInfo("Responsive mode set to: {}", isResponsive ? "enabled" : "disabled");
-            return true;
-        } catch (Exception e) {
-            logError("Failed to set responsive mode: {}", e.getMessage());
-            return false;
-        }
+    @Autowired(required = false)
+    public void setDriverManager(WebDriverManager driverManager) {
+        this.driverManager = driverManager;
     }
 
-    protected boolean detectResponsiveMode() {
-        int width = driver.manage().window().getSize().getWidth();
-        boolean isResponsive = width <= RESPONSIVE_BREAKPOINT;
-        setResponsiveMode(isResponsive);
-        logInfo("Browser width: {}px, Responsive mode: {}", width, isResponsive);
-        return isResponsive;
+    /**
+     * Whether the calling thread's session is a mobile one. Read from the thread's device mode on every
+     * call rather than cached, since the page beans are shared by desktop and mobile tests.
+     */
+    protected boolean isResponsiveMode() {
+        if (driverManager != null) {
+            return driverManager.getDeviceMode().isMobile();
+        }
+        return driver.manage().window().getSize().getWidth() <= RESPONSIVE_BREAKPOINT;
     }
 
     protected void logInfo(String message, Object... args) {
@@ -81,9 +102,13 @@ public abstract class BasePage {
     }
 
     public boolean acceptCookies() {
-        try {
+        try (TimingRegistry.Timer ignored = step("acceptCookies")) {
             logger.info("Attempting to accept cookies");
-            WebElement cookieButton = waitForElementToBeClickable(By.id("onetrust-accept-btn-handler"));
+            if (isConsentGiven()) {
+                logger.info("Cookie consent already given");
+                return true;
+            }
+            WebElement cookieButton = waitForElementToBeClickable(COOKIE_ACCEPT_BUTTON, COOKIE_BANNER_TIMEOUT);
             if (cookieButton != null) {
                 cookieButton.click();
                 logger.info("Successfully clicked cookie accept button");
@@ -97,9 +122,17 @@ public abstract class BasePage {
         }
     }
 
+    protected boolean isConsentGiven() {
+        try {
+            return driver.manage().getCookieNamed(CONSENT_COOKIE) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     protected void waitForElementVisible(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            wait.withMessage("element to be visible").until(ExpectedConditions.visibilityOf(element));
         } catch (Exception e) {
             logger.error("Element is not visible: {}", element);
             throw e;
@@ -108,7 +141,7 @@ public abstract class BasePage {
 
     protected void waitForElementToBeClickable(WebElement element) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            wait.withMessage("element to be clickable").until(ExpectedConditions.elementToBeClickable(element));
         } catch (Exception e) {
             logger.error("Element is not clickable: {}", element);
             throw e;
@@ -116,10 +149,15 @@ public abstract class BasePage {
     }
 
     protected WebElement waitForElementToBeClickable(By locator) {
+        return waitForElementToBeClickable(locator, wait.getTimeout());
+    }
+
+    protected WebElement waitForElementToBeClickable(By locator, Duration timeout) {
         try {
-            logger.info("Waiting for element to be clickable: {}", locator);
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
-            logger.info("Element is now clickable: {}", locator);
+            logger.debug("Waiting for element to be clickable: {}", locator);
+            WebElement element = wait.withTimeout(timeout).withMessage(locator + " to be clickable")
+                .until(ExpectedConditions.elementToBeClickable(locator));
+            logger.debug("Element is now clickable: {}", locator);
             return element;
         } catch (Exception e) {
             logger.warn("Element is not clickable: {}", locator);
@@ -129,36 +167,52 @@ public abstract class BasePage {
 
     protected void waitForPageLoad() {
         try {
+            execute("waitForPageLoad", true, () -> {
+                wait.withMessage("document past loading")
+                    .until(webDriver -> !"loading".equals(js.executeScript("return document.readyState")));
+                long deadline = System.nanoTime() + Duration.ofSeconds(settleTimeoutSeconds).toNanos();
+                waitForNetworkIdle(url -> true, Duration.ofSeconds(settleTimeoutSeconds), "page load");
 
-            wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                    .executeScript("return document.readyState")
-                    .equals("complete"));
-
-            Boolean jQueryReady = (Boolean) js.executeScript("return typeof jQuery != 'undefined' && jQuery.active == 0");
-            if (jQueryReady != null && jQueryReady) {
-                wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                        .executeScript("return jQuery.active == 0"));
-            }
-
-            waitForCondition(driver -> {
-                Boolean networkIdle = (Boolean) ((JavascriptExecutor) driver).executeScript(
-                    "return window.performance.getEntriesByType('resource').filter(r => !r.responseEnd).length === 0"
-                );
-                return networkIdle != null && networkIdle;
-            }, 5, "Network idle");
-            
-            logger.info("Page load completed successfully");
+                Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                PageSettleDetector.SettleResult result = PageSettleDetector.awaitSettled(js,
+                    Duration.ofMillis(settleQuietWindowMillis), remaining);
+                if (result.isSettled()) {
+                    logger.info("Page settled in {} ms ({} mutations observed)",
+                        result.getWaitedMillis(), result.getMutations());
+                } else {
+                    logger.warn("Page did not settle within {} s ({} requests pending, {} mutations observed)",
+                        settleTimeoutSeconds, result.getPendingRequests(), result.getMutations());
+                }
+            });
         } catch (Exception e) {
             logger.error("Page load timeout: {}", e.getMessage());
             throw e;
         }
     }
 
+    protected Optional<NetworkIdleTracker> networkTracker() {
+        return driverManager != null ? driverManager.getNetworkIdleTracker() : Optional.empty();
+    }
+
+    protected boolean waitForNetworkIdle(Predicate<String> requestFilter, Duration timeout, String reason) {
+        Optional<NetworkIdleTracker> tracker = networkTracker();
+        if (tracker.isEmpty()) {
+            return false;
+        }
+        if (tracker.get().awaitIdle(requestFilter, NETWORK_QUIET_WINDOW, timeout)) {
+            logger.debug("Network idle: {}", reason);
+            return true;
+        }
+        logger.warn("Network still busy after {} s ({}): {}", timeout.toSeconds(), reason,
+            tracker.get().getInFlightUrls(requestFilter));
+        return false;
+    }
+
     protected void clickElement(WebElement element) {
         try {
             waitForElementToBeClickable(element);
             element.click();
-            logger.info("Clicked element successfully");
+            logger.debug("Clicked element successfully");
         } catch (Exception e) {
             logger.error("Failed to click element: {}", e.getMessage());
             throw e;
@@ -170,7 +224,7 @@ public abstract class BasePage {
             waitForElementVisible(element);
             element.clear();
             element.sendKeys(text);
-            logger.info("Sent keys to element: {}, text: {}", element, text);
+            logger.debug("Sent keys to element: {}, text: {}", element, text);
         } catch (Exception e) {
             logger.error("Failed to send keys to element: {}", element);
             throw e;
@@ -194,6 +248,17 @@ public abstract class BasePage {
         }
     }
 
+    protected List<BulkQuery.Row> queryAll(BulkQuery query) {
+        try {
+            List<BulkQuery.Row> rows = query.toRows(js.executeScript(BulkQuery.SCRIPT, query.toScriptArgument()));
+            logger.debug("Bulk query {} returned {} rows", query.getContainer(), rows.size());
+            return rows;
+        } catch (Exception e) {
+            logger.error("Bulk query {} failed: {}", query.getContainer(), e.getMessage());
+            throw e;
+        }
+    }
+
     protected boolean isElementDisplayed(WebElement element) {
         try {
             boolean exists = (Boolean) js.executeScript(
@@ -223,12 +288,52 @@ public abstract class BasePage {
         }
     }
 
+    protected Optional<WebElement> findNow(By locator) {
+        List<WebElement> elements = driver.findElements(locator);
+        return elements.isEmpty() ? Optional.empty() : Optional.of(elements.get(0));
+    }
+
+    protected boolean isPresent(By locator) {
+        return !driver.findElements(locator).isEmpty();
+    }
+
+    protected boolean isAbsent(By locator) {
+        return driver.findElements(locator).isEmpty();
+    }
+
+    protected boolean isDisplayedNow(List<WebElement> elements) {
+        try {
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (StaleElementReferenceException | NoSuchElementException e) {
+            return false;
+        }
+    }
+
+    protected void waitForFirstVisible(List<WebElement> elements, String reason) {
+        try {
+            wait.withMessage(reason + " to be visible").until(webDriver -> isDisplayedNow(elements));
+        } catch (TimeoutException e) {
+            logger.error("No visible element for: {}", reason);
+            throw e;
+        }
+    }
+
+    protected WebElement waitForElementToBeVisible(By locator, Duration timeout) {
+        try {
+            return wait.withTimeout(timeout).withMessage(locator + " to be visible")
+                .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        } catch (TimeoutException e) {
+            logger.warn("Element not visible: {}", locator);
+            return null;
+        }
+    }
+
     protected void waitForCondition(Function<WebDriver, Boolean> condition, int timeoutInSeconds, String message) {
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds))
+            wait.withTimeout(Duration.ofSeconds(timeoutInSeconds))
                 .withMessage(message)
                 .until(condition);
-            logger.info("Condition met: {}", message);
+            logger.debug("Condition met: {}", message);
         } catch (TimeoutException e) {
             logger.error("Timeout waiting for condition: {}", message);
             throw e;
@@ -237,35 +342,58 @@ public abstract class BasePage {
 
     protected void waitForElementVisible(WebElement element, String reason) {
         try {
-            logger.info("Waiting for element to be visible: {}", reason);
-            wait.until(ExpectedConditions.visibilityOf(element));
-            logger.info("Element is now visible: {}", reason);
+            logger.debug("Waiting for element to be visible: {}", reason);
+            wait.withMessage(reason + " to be visible").until(ExpectedConditions.visibilityOf(element));
+            logger.debug("Element is now visible: {}", reason);
         } catch (Exception e) {
             logger.error("Element is not visible ({}): {}", reason, e.getMessage());
             throw e;
         }
     }
 
+    protected TimingRegistry.Timer step(String name) {
+        return TimingRegistry.start("step: " + name);
+    }
+
+    protected void navigateTo(String url, String label) {
+        try (TimingRegistry.Timer ignored = TimingRegistry.start("navigation: " + label)) {
+            driver.get(url);
+        }
+    }
+
+    protected StepRetry stepRetry() {
+        return new StepRetry(retryCount, Duration.ofMillis(retryBackoffMillis), Duration.ofMillis(retryMaxBackoffMillis));
+    }
+
+    /**
+     * Runs an idempotent step, retrying stale elements and blocked interactions on the same session.
+     * Failures surface as {@link StepRetry.StepFailedException} carrying the failure kind and attempt count.
+     */
     protected <T> T execute(String actionName, Supplier<T> action) {
-        try {
-            logger.info("Starting: {}", actionName);
-            T result = action.get();
-            logger.info("Completed: {}", actionName);
+        return execute(actionName, false, action);
+    }
+
+    /**
+     * Like {@link #execute(String, Supplier)}, but also retries timeouts when {@code retryTimeouts} is set.
+     * Only wait steps whose timeout is usually transient should opt in.
+     */
+    protected <T> T execute(String actionName, boolean retryTimeouts, Supplier<T> action) {
+        try (TimingRegistry.Timer ignored = step(actionName)) {
+            logger.debug("Starting: {}", actionName);
+            T result = stepRetry().run(actionName, action, retryTimeouts);
+            logger.debug("Completed: {}", actionName);
             return result;
-        } catch (Exception e) {
-            logger.error("Failed to {}: {}", actionName, e.getMessage());
-            throw new RuntimeException("Failed to " + actionName, e);
         }
     }
 
     protected void execute(String actionName, Runnable action) {
-        try {
-            logger.info("Starting: {}", actionName);
+        execute(actionName, false, action);
+    }
+
+    protected void execute(String actionName, boolean retryTimeouts, Runnable action) {
+        execute(actionName, retryTimeouts, () -> {
             action.run();
-            logger.info("Completed: {}", actionName);
-        } catch (Exception e) {
-            logger.error("Failed to {}: {}", actionName, e.getMessage());
-            throw new RuntimeException("Failed to " + actionName, e);
-        }
+            return null;
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.sahibinden.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes a list of containers and the fields to read from each of them, so a whole
+ * listing can be extracted with a single script call instead of one round trip per element.
+ * Selectors starting with {@code /}, {@code ./} or {@code (} are treated as XPath, anything else as CSS;
+ * a {@code null} field selector reads the container itself.
+ */
+public class BulkQuery {
+
+    public enum FieldType {
+        TEXT,
+        ATTRIBUTE,
+        HREF,
+        VISIBLE
+    }
+
+    /**
+     * Defines {@code bulkQuery(doc, spec, baseUrl)}, which runs a query against any document: the live
+     * {@code document} or one parsed with {@code DOMParser}. Links are resolved against {@code baseUrl}.
+     * Nothing in a parsed document is rendered, so VISIBLE fields are always false there.
+     */
+    static final String FUNCTION =
+        "function bulkQuery(doc, spec, baseUrl) {" +
+        "  function isXpath(s) { return s.charAt(0) === '/' || s.charAt(0) === '(' || s.indexOf('./') === 0; }" +
+        "  function findAll(sel) {" +
+        "    if (!isXpath(sel)) { return Array.prototype.slice.call(doc.querySelectorAll(sel)); }" +
+        "    var snap = doc.evaluate(sel, doc, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "    var all = []; for (var i = 0; i < snap.snapshotLength; i++) { all.push(snap.snapshotItem(i)); }" +
+        "    return all;" +
+        "  }" +
+        "  function findOne(root, sel) {" +
+        "    if (!sel) { return root; }" +
+        "    if (isXpath(sel)) {" +
+        "      return doc.evaluate(sel, root, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "    }" +
+        "    return root.querySelector(sel);" +
+        "  }" +
+        "  function visible(el) {" +
+        "    if (!el || !el.getClientRects().length) { return false; }" +
+        "    var style = window.getComputedStyle(el);" +
+        "    return style.visibility !== 'hidden' && style.display !== 'none';" +
+        "  }" +
+        "  function text(el) {" +
+        "    if (!el) { return null; }" +
+        "    var t = el.innerText;" +
+        "    if (!t || !t.trim()) { t = el.value || el.textContent; }" +
+        "    return t ? t.replace(/\\s+/g, ' ').trim() : '';" +
+        "  }" +
+        "  return findAll(spec.container).map(function (container) {" +
+        "    var row = {};" +
+        "    spec.fields.forEach(function (field) {" +
+        "      var el = findOne(container, field.selector);" +
+        "      if (field.type === 'TEXT') { row[field.name] = text(el); }" +
+        "      else if (field.type === 'ATTRIBUTE') { row[field.name] = el ? el.getAttribute(field.attribute) : null; }" +
+        "      else if (field.type === 'HREF') {" +
+        "        var link = el ? (el.closest('a[href]') || el.querySelector('a[href]')) : null;" +
+        "        row[field.name] = link ? new URL(link.getAttribute('href'), baseUrl).href : null;" +
+        "      }" +
+        "      else if (field.type === 'VISIBLE') { row[field.name] = visible(el); }" +
+        "    });" +
+        "    return row;" +
+        "  });" +
+        "}";
+
+    static final String SCRIPT = FUNCTION + "return bulkQuery(document, arguments[0], document.baseURI);";
+
+    /**
+     * One container's values. Each accessor only reads fields of its own kind, so a VISIBLE field
+     * is read as a boolean and never as the string {@code "true"}.
+     */
+    public static class Row {
+        private final int index;
+        private final Map<String, Object> values;
+        private final Map<String, FieldType> types;
+
+        Row(int index, Map<String, Object> values, Map<String, FieldType> types) {
+            this.index = index;
+            this.values = values;
+            this.types = types;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String text(String field) {
+            return string(field, FieldType.TEXT);
+        }
+
+        public String attribute(String field) {
+            return string(field, FieldType.ATTRIBUTE);
+        }
+
+        public String href(String field) {
+            return string(field, FieldType.HREF);
+        }
+
+        public boolean isVisible(String field) {
+            requireType(field, FieldType.VISIBLE);
+            return Boolean.TRUE.equals(values.get(field));
+        }
+
+        private String string(String field, FieldType type) {
+            requireType(field, type);
+            Object value = values.get(field);
+            return value != null ? value.toString() : null;
+        }
+
+        private void requireType(String field, FieldType type) {
+            FieldType declared = types.get(field);
+            if (declared != null && declared != type) {
+                throw new IllegalArgumentException("Field '" + field + "' is " + declared + ", not " + type);
+            }
+        }
+
+        public boolean has(String field) {
+            return values.get(field) != null;
+        }
+
+        @Override
+        public String toString() {
+            return "Row" + index + values;
+        }
+    }
+
+    private final String container;
+    private final List<Map<String, Object>> fields = new ArrayList<>();
+    private final Map<String, FieldType> types = new HashMap<>();
+
+    private BulkQuery(String container) {
+        this.container = container;
+    }
+
+    public static BulkQuery css(String containerSelector) {
+        return new BulkQuery(containerSelector);
+    }
+
+    public static BulkQuery xpath(String containerXpath) {
+        if (!containerXpath.startsWith("/") && !containerXpath.startsWith("(")) {
+            throw new IllegalArgumentException("Container XPath must be absolute: " + containerXpath);
+        }
+        return new BulkQuery(containerXpath);
+    }
+
+    public BulkQuery text(String name) {
+        return field(name, FieldType.TEXT, null, null);
+    }
+
+    public BulkQuery text(String name, String selector) {
+        return field(name, FieldType.TEXT, selector, null);
+    }
+
+    public BulkQuery attribute(String name, String selector, String attribute) {
+        return field(name, FieldType.ATTRIBUTE, selector, attribute);
+    }
+
+    public BulkQuery href(String name, String selector) {
+        return field(name, FieldType.HREF, selector, null);
+    }
+
+    public BulkQuery visible(String name, String selector) {
+        return field(name, FieldType.VISIBLE, selector, null);
+    }
+
+    private BulkQuery field(String name, FieldType type, String selector, String attribute) {
+        Map<String, Object> field = new HashMap<>();
+        field.put("name", name);
+        field.put("type", type.name());
+        field.put("selector", selector);
+        field.put("attribute", attribute);
+        fields.add(field);
+        types.put(name, type);
+        return this;
+    }
+
+    public String getContainer() {
+        return container;
+    }
+
+    Map<String, Object> toScriptArgument() {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("container", container);
+        spec.put("fields", fields);
+        return spec;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Row> toRows(Object result) {
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<Object> raw = (List<Object>) result;
+        List<Row> rows = new ArrayList<>(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            Object value = raw.get(i);
+            rows.add(new Row(i, value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap(), types));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sahibinden.pages;
+
+import java.util.Locale;
+
+public enum ConsistencyMode {
+    TABS,
+    FETCH;
+
+    public static ConsistencyMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FETCH;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sahibinden.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads detail pages without opening them: one async script fetches every URL from the current page
+ * (same origin, session cookies included) with at most {@code concurrency} requests in flight, parses each
+ * response with {@code DOMParser} and returns only the title and price. No navigation, rendering or
+ * subresource loads happen, so only server-rendered fields can be read this way.
+ */
+class DetailFetchLoader implements DetailPageLoader {
+    private static final Logger logger = LoggerFactory.getLogger(DetailFetchLoader.class);
+    private static final Duration SCRIPT_MARGIN = Duration.ofSeconds(5);
+
+    private static final String FETCH_SCRIPT =
+        "var urls = arguments[0], spec = arguments[1], done = arguments[arguments.length - 1];" +
+        "var results = new Array(urls.length), next = 0;" +
+        "function text(el) { return el ? (el.textContent || '').replace(/\\s+/g, ' ').trim() : null; }" +
+        "function parse(html) {" +
+        "  var doc = new DOMParser().parseFromString(html, 'text/html');" +
+        "  var title = text(doc.evaluate(spec.title, doc, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue);" +
+        "  var price = text(doc.querySelector(spec.price));" +
+        "  return title && price ? { title: title, price: price } : { error: 'title or price not found' };" +
+        "}" +
+        "function worker() {" +
+        "  if (next >= urls.length) { return Promise.resolve(); }" +
+        "  var i = next++;" +
+        "  var controller = new AbortController();" +
+        "  var timer = setTimeout(function () { controller.abort(); }, spec.timeout);" +
+        "  return fetch(urls[i], { credentials: 'include', signal: controller.signal })" +
+        "    .then(function (response) {" +
+        "      if (!response.ok) { throw new Error('HTTP ' + response.status); }" +
+        "      return response.text();" +
+        "    })" +
+        "    .then(function (html) { results[i] = parse(html); }," +
+        "      function (e) { results[i] = { error: e && e.name === 'AbortError' ? 'timeout' : String(e) }; })" +
+        "    .then(function () { clearTimeout(timer); return worker(); });" +
+        "}" +
+        "var workers = [];" +
+        "for (var w = 0; w < Math.min(spec.concurrency, urls.length); w++) { workers.push(worker()); }" +
+        "Promise.all(workers).then(function () { done(results); }, function (e) { done({ error: String(e) }); });";
+
+    private final WebDriver driver;
+    private final int concurrency;
+    private final Duration timeout;
+    private final String titleXpath;
+    private final String priceCss;
+
+    DetailFetchLoader(WebDriver driver, int concurrency, Duration timeout, String titleXpath, String priceCss) {
+        this.driver = driver;
+        this.concurrency = Math.max(1, concurrency);
+        this.timeout = timeout;
+        this.titleXpath = titleXpath;
+        this.priceCss = priceCss;
+    }
+
+    @Override
+    public List<DetailPage> load(List<String> urls) {
+        List<DetailPage> pages = new ArrayList<>(urls.size());
+        if (urls.isEmpty()) {
+            return pages;
+        }
+        Map<String, Object> spec = Map.of(
+            "title", titleXpath,
+            "price", priceCss,
+            "concurrency", concurrency,
+            "timeout", timeout.toMillis());
+
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration previousScriptTimeout = timeouts.getScriptTimeout();
+        int rounds = (urls.size() + concurrency - 1) / concurrency;
+        timeouts.scriptTimeout(timeout.multipliedBy(rounds).plus(SCRIPT_MARGIN));
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(FETCH_SCRIPT, urls, spec);
+        } finally {
+            timeouts.scriptTimeout(previousScriptTimeout);
+        }
+
+        if (result instanceof Map) {
+            throw new IllegalStateException("Detail fetch failed: " + ((Map<?, ?>) result).get("error"));
+        }
+        List<?> results = result instanceof List ? (List<?>) result : List.of();
+        for (int i = 0; i < urls.size(); i++) {
+            Map<?, ?> detail = i < results.size() && results.get(i) instanceof Map ? (Map<?, ?>) results.get(i) : null;
+            if (detail == null || detail.get("error") != null) {
+                String error = detail == null ? "no result" : String.valueOf(detail.get("error"));
+                logger.warn("Detail page {} could not be read: {}", urls.get(i), error);
+                pages.add(DetailPage.failed(urls.get(i), error));
+            } else {
+                pages.add(DetailPage.loaded(urls.get(i), (String) detail.get("title"), (String) detail.get("price")));
+            }
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sahibinden.pages;
+
+final class DetailPage {
+    private final String url;
+    private final String title;
+    private final String price;
+    private final String error;
+
+    private DetailPage(String url, String title, String price, String error) {
+        this.url = url;
+        this.title = title;
+        this.price = price;
+        this.error = error;
+    }
+
+    static DetailPage loaded(String url, String title, String price) {
+        return new DetailPage(url, title, price, null);
+    }
+
+    static DetailPage failed(String url, String error) {
+        return new DetailPage(url, null, null, error);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    String getPrice() {
+        return price;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    boolean isLoaded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sahibinden.pages;
+
+import java.util.List;
+
+/**
+ * Loads the title and price of a batch of detail pages. Results are returned in the order of {@code urls};
+ * a page that could not be read is returned as {@link DetailPage#failed(String, String)}.
+ */
+interface DetailPageLoader {
+
+    List<DetailPage> load(List<String> urls);
+}
@@ -0,0 +1,103 @@
+package com.sahibinden.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads detail pages in up to {@code fanOut} extra tabs of the current session. Each batch starts every
+ * navigation with a non-blocking {@code location.href} assignment before reading any of them, so the browser
+ * loads the batch in parallel and the driver only switches between tabs to collect the results. The tabs are
+ * reused across batches and closed afterwards; the original tab is active again on return.
+ * <p>
+ * The {@code ResourceBlocker} and {@code NetworkIdleTracker} of the session are attached to the original
+ * target only, so detail tabs load images, fonts and media unblocked and their requests are not tracked.
+ */
+class DetailTabFanOut implements DetailPageLoader {
+    private static final Logger logger = LoggerFactory.getLogger(DetailTabFanOut.class);
+    private static final String STALE_MARKER = "__fanOutStale";
+
+    static final String NAVIGATE_SCRIPT =
+        "window." + STALE_MARKER + " = true; window.location.href = arguments[0];";
+
+    static final String READ_SCRIPT =
+        "if (window." + STALE_MARKER + " || document.readyState === 'loading') { return null; }" +
+        "function text(el) { return el ? (el.textContent || '').replace(/\\s+/g, ' ').trim() : null; }" +
+        "var title = text(document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue);" +
+        "var price = text(document.querySelector(arguments[1]));" +
+        "return title && price ? { title: title, price: price } : null;";
+
+    private final WebDriver driver;
+    private final JavascriptExecutor js;
+    private final AdaptiveWait wait;
+    private final int fanOut;
+    private final String titleXpath;
+    private final String priceCss;
+
+    DetailTabFanOut(WebDriver driver, AdaptiveWait wait, int fanOut, String titleXpath, String priceCss) {
+        this.driver = driver;
+        this.js = (JavascriptExecutor) driver;
+        this.wait = wait;
+        this.fanOut = Math.max(1, fanOut);
+        this.titleXpath = titleXpath;
+        this.priceCss = priceCss;
+    }
+
+    @Override
+    public List<DetailPage> load(List<String> urls) {
+        List<DetailPage> results = new ArrayList<>(urls.size());
+        String origin = driver.getWindowHandle();
+        List<String> tabs = new ArrayList<>();
+        try {
+            for (int start = 0; start < urls.size(); start += fanOut) {
+                int end = Math.min(start + fanOut, urls.size());
+                for (int i = start; i < end; i++) {
+                    int slot = i - start;
+                    if (slot == tabs.size()) {
+                        driver.switchTo().newWindow(WindowType.TAB);
+                        tabs.add(driver.getWindowHandle());
+                    } else {
+                        driver.switchTo().window(tabs.get(slot));
+                    }
+                    js.executeScript(NAVIGATE_SCRIPT, urls.get(i));
+                }
+                for (int i = start; i < end; i++) {
+                    driver.switchTo().window(tabs.get(i - start));
+                    results.add(read(urls.get(i)));
+                }
+            }
+        } finally {
+            closeTabs(tabs, origin);
+        }
+        return results;
+    }
+
+    private DetailPage read(String url) {
+        try {
+            Map<?, ?> detail = wait.withMessage("detail page fields")
+                .until(webDriver -> (Map<?, ?>) js.executeScript(READ_SCRIPT, titleXpath, priceCss));
+            return DetailPage.loaded(url, (String) detail.get("title"), (String) detail.get("price"));
+        } catch (Exception e) {
+            logger.warn("Detail page {} did not load: {}", url, e.getMessage());
+            return DetailPage.failed(url, e.getClass().getSimpleName());
+        }
+    }
+
+    private void closeTabs(List<String> tabs, String origin) {
+        for (String tab : tabs) {
+            try {
+                driver.switchTo().window(tab);
+                driver.close();
+            } catch (Exception e) {
+                logger.debug("Could not close detail tab {}: {}", tab, e.getMessage());
+            }
+        }
+        driver.switchTo().window(origin);
+    }
+}
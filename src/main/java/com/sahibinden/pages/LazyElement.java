@@ -0,0 +1,158 @@
+package com.sahibinden.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+
+/**
+ * Element handle assigned by the generated page binders. Nothing is looked up until a method is called,
+ * and every call locates the element again, matching the non-cached behaviour of PageFactory proxies.
+ */
+public class LazyElement implements WebElement, WrapsElement, Locatable {
+    private final SearchContext context;
+    private final By locator;
+
+    public LazyElement(SearchContext context, By locator) {
+        this.context = context;
+        this.locator = locator;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return context.findElement(locator);
+    }
+
+    @Override
+    public void click() {
+        getWrappedElement().click();
+    }
+
+    @Override
+    public void submit() {
+        getWrappedElement().submit();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        getWrappedElement().sendKeys(keysToSend);
+    }
+
+    @Override
+    public void clear() {
+        getWrappedElement().clear();
+    }
+
+    @Override
+    public String getTagName() {
+        return getWrappedElement().getTagName();
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return getWrappedElement().getDomProperty(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return getWrappedElement().getDomAttribute(name);
+    }
+
+    @Override
+    @Deprecated
+    public String getAttribute(String name) {
+        return getWrappedElement().getAttribute(name);
+    }
+
+    @Override
+    public String getAriaRole() {
+        return getWrappedElement().getAriaRole();
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return getWrappedElement().getAccessibleName();
+    }
+
+    @Override
+    public boolean isSelected() {
+        return getWrappedElement().isSelected();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return getWrappedElement().isEnabled();
+    }
+
+    @Override
+    public String getText() {
+        return getWrappedElement().getText();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return getWrappedElement().findElements(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return getWrappedElement().findElement(by);
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return getWrappedElement().getShadowRoot();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return getWrappedElement().isDisplayed();
+    }
+
+    @Override
+    public Point getLocation() {
+        return getWrappedElement().getLocation();
+    }
+
+    @Override
+    public Dimension getSize() {
+        return getWrappedElement().getSize();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return getWrappedElement().getRect();
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return getWrappedElement().getCssValue(propertyName);
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return getWrappedElement().getScreenshotAs(target);
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return ((Locatable) getWrappedElement()).getCoordinates();
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element located " + locator;
+    }
+}
@@ -0,0 +1,152 @@
+package com.sahibinden.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * List counterpart of {@link LazyElement}: every call runs {@code findElements} once and delegates to the
+ * fresh result, so iteration works on a consistent snapshot instead of re-querying per index.
+ */
+public class LazyElementList implements List<WebElement> {
+    private final SearchContext context;
+    private final By locator;
+
+    public LazyElementList(SearchContext context, By locator) {
+        this.context = context;
+        this.locator = locator;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    private List<WebElement> elements() {
+        return context.findElements(locator);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return elements().contains(o);
+    }
+
+    @Override
+    public Iterator<WebElement> iterator() {
+        return elements().iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return elements().toArray(a);
+    }
+
+    @Override
+    public boolean add(WebElement element) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return elements().containsAll(c);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends WebElement> c) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends WebElement> c) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public WebElement set(int index, WebElement element) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public void add(int index, WebElement element) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public WebElement remove(int index) {
+        throw new UnsupportedOperationException("Located element lists are read-only");
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return elements().indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return elements().lastIndexOf(o);
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator() {
+        return elements().listIterator();
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator(int index) {
+        return elements().listIterator(index);
+    }
+
+    @Override
+    public List<WebElement> subList(int fromIndex, int toIndex) {
+        return elements().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element list located " + locator;
+    }
+}
@@ -0,0 +1,123 @@
+package com.sahibinden.pages;
+
+import com.sahibinden.listing.ListingSnapshot;
+import org.openqa.selenium.JavascriptExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks every result page of the listing that is open in the browser, one {@link ListingSnapshot} per page.
+ * The first page is read from the live DOM. Every later page is fetched in the background with the session's
+ * cookies as soon as the previous page is handed out, and is parsed with {@code DOMParser} when requested,
+ * so the fetch of page N+1 overlaps the verification of page N and no navigation happens. Only the current
+ * page is held in memory. Both kinds of page are read with the same {@link BulkQuery}.
+ */
+public class ListingPageIterator implements Iterator<ListingSnapshot>, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ListingPageIterator.class);
+    private static final String NEXT_LINK_SELECTOR = "a[rel='next'], a.prevNextBut[title='Sonraki']";
+
+    private static final String READ_PAGE_FUNCTION = BulkQuery.FUNCTION +
+        "function readPage(doc, query, nextSelector, baseUrl) {" +
+        "  var next = doc.querySelector(nextSelector);" +
+        "  var href = next && next.getAttribute('href');" +
+        "  return { rows: bulkQuery(doc, query, baseUrl), next: href ? new URL(href, baseUrl).href : null };" +
+        "}";
+
+    static final String LIVE_PAGE_SCRIPT = READ_PAGE_FUNCTION +
+        "return readPage(document, arguments[0], arguments[1], document.baseURI);";
+
+    static final String PREFETCH_SCRIPT =
+        "var url = arguments[0];" +
+        "window.__listingPrefetch = { url: url, body: fetch(url, { credentials: 'include' }).then(function (response) {" +
+        "  if (!response.ok) { throw new Error('HTTP ' + response.status); }" +
+        "  return response.text();" +
+        "}) };" +
+        "window.__listingPrefetch.body.catch(function () {});";
+
+    static final String COLLECT_SCRIPT = READ_PAGE_FUNCTION +
+        "var query = arguments[0], nextSelector = arguments[1], done = arguments[arguments.length - 1];" +
+        "var prefetch = window.__listingPrefetch;" +
+        "if (!prefetch) { done({ error: 'no prefetch in flight' }); return; }" +
+        "prefetch.body.then(function (html) {" +
+        "  done(readPage(new DOMParser().parseFromString(html, 'text/html'), query, nextSelector, prefetch.url));" +
+        "}, function (e) { done({ error: String(e) }); });";
+
+    static final String CLEAR_SCRIPT = "delete window.__listingPrefetch;";
+
+    private final JavascriptExecutor js;
+    private final BulkQuery query;
+    private final String priceField;
+    private final int maxPages;
+    private int pageNumber;
+    private String nextUrl;
+    private String currentUrl;
+
+    ListingPageIterator(JavascriptExecutor js, BulkQuery query, String priceField, int maxPages) {
+        this.js = js;
+        this.query = query;
+        this.priceField = priceField;
+        this.maxPages = Math.max(1, maxPages);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pageNumber == 0 || (nextUrl != null && pageNumber < maxPages);
+    }
+
+    @Override
+    public ListingSnapshot next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No further listing pages");
+        }
+        Object result;
+        if (pageNumber == 0) {
+            currentUrl = String.valueOf(js.executeScript("return location.href;"));
+            result = js.executeScript(LIVE_PAGE_SCRIPT, query.toScriptArgument(), NEXT_LINK_SELECTOR);
+        } else {
+            currentUrl = nextUrl;
+            result = js.executeAsyncScript(COLLECT_SCRIPT, query.toScriptArgument(), NEXT_LINK_SELECTOR);
+        }
+        pageNumber++;
+
+        Map<?, ?> page = (Map<?, ?>) result;
+        if (page.get("error") != null) {
+            throw new IllegalStateException("Could not load listing page " + pageNumber + " (" + currentUrl + "): " + page.get("error"));
+        }
+        nextUrl = (String) page.get("next");
+        if (nextUrl != null && pageNumber < maxPages) {
+            js.executeScript(PREFETCH_SCRIPT, nextUrl);
+        } else if (nextUrl != null) {
+            logger.info("Stopping after {} listing pages, more are available from {}", pageNumber, nextUrl);
+        }
+
+        List<BulkQuery.Row> rows = query.toRows(page.get("rows"));
+        ListingSnapshot.Builder snapshot = ListingSnapshot.builder(rows.size());
+        for (BulkQuery.Row row : rows) {
+            snapshot.add(null, row.text(priceField));
+        }
+        logger.debug("Listing page {} ({}) has {} prices", pageNumber, currentUrl, rows.size());
+        return snapshot.build();
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public String getCurrentUrl() {
+        return currentUrl;
+    }
+
+    @Override
+    public void close() {
+        try {
+            js.executeScript(CLEAR_SCRIPT);
+        } catch (Exception e) {
+            logger.debug("Could not clear listing prefetch: {}", e.getMessage());
+        }
+    }
+}
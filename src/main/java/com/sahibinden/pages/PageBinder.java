@@ -0,0 +1,15 @@
+package com.sahibinden.pages;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Implemented by the {@code <Page>_Elements} class generated for each page. Binds the fields declared by
+ * that page class only; fields of superclasses are bound by their own binders.
+ */
+public interface PageBinder<T extends BasePage> {
+
+    void bind(T page, SearchContext context);
+
+    T create(WebDriver driver);
+}
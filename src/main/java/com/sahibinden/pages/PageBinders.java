@@ -0,0 +1,60 @@
+package com.sahibinden.pages;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Optional;
+
+/**
+ * Finds the generated binder of a page class by naming convention, {@code <binary name>_Elements}, instead
+ * of through one aggregate registry. Each binder is regenerated together with its own page, so an
+ * incremental build that recompiles only some pages leaves the binders of the others in place. The lookup
+ * is reflective once per class and cached; binding and instantiation then run without reflection.
+ */
+public final class PageBinders {
+    static final String SUFFIX = "_Elements";
+
+    private static final ClassValue<Optional<PageBinder<BasePage>>> BINDERS = new ClassValue<>() {
+        @Override
+        protected Optional<PageBinder<BasePage>> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private PageBinders() {
+    }
+
+    /**
+     * Binds the {@code @FindBy} fields of every class from the page's own class up to {@link BasePage}.
+     */
+    public static void bind(BasePage page, SearchContext context) {
+        for (Class<?> type = page.getClass(); type != null && BasePage.class.isAssignableFrom(type);
+                type = type.getSuperclass()) {
+            BINDERS.get(type).ifPresent(binder -> binder.bind(page, context));
+        }
+    }
+
+    public static <T extends BasePage> T create(Class<T> type, WebDriver driver) {
+        PageBinder<BasePage> binder = BINDERS.get(type)
+            .orElseThrow(() -> new IllegalArgumentException("No generated binder for page " + type.getName()));
+        return type.cast(binder.create(driver));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<PageBinder<BasePage>> load(Class<?> type) {
+        Class<?> binderType;
+        try {
+            binderType = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+        if (!PageBinder.class.isAssignableFrom(binderType)) {
+            throw new IllegalStateException(binderType.getName() + " does not implement " + PageBinder.class.getName());
+        }
+        try {
+            return Optional.of((PageBinder<BasePage>) binderType.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate page binder " + binderType.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.sahibinden.pages;
+
+import com.sahibinden.util.TimingRegistry;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v134.page.Page;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Injects a small in-page tracker (MutationObserver plus fetch/XHR counters) and resolves once the DOM
+ * has been quiet for the configured window with no request in flight. Works with the {@code eager}
+ * page-load strategy because it only needs the document to be past {@code loading}.
+ * <p>
+ * With DevTools the tracker is registered once per session to run before any page script, so requests
+ * started during loading are counted. Without it, {@link #awaitSettled} installs the tracker on demand
+ * and only sees requests started after that point.
+ */
+public final class PageSettleDetector {
+
+    static final String INSTALL_SCRIPT =
+        "if (!window.__pageSettle) {" +
+        "  var state = { pending: 0, mutations: 0, lastActivity: performance.now() };" +
+        "  var touch = function () { state.lastActivity = performance.now(); };" +
+        "  new MutationObserver(function (records) { state.mutations += records.length; touch(); })" +
+        "    .observe(document, { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "  if (window.fetch) {" +
+        "    var originalFetch = window.fetch;" +
+        "    window.fetch = function () {" +
+        "      state.pending++; touch();" +
+        "      var done = function () { state.pending = Math.max(0, state.pending - 1); touch(); };" +
+        "      return originalFetch.apply(this, arguments).then(function (r) { done(); return r; }," +
+        "        function (e) { done(); throw e; });" +
+        "    };" +
+        "  }" +
+        "  var originalSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function () {" +
+        "    state.pending++; touch();" +
+        "    this.addEventListener('loadend', function () { state.pending = Math.max(0, state.pending - 1); touch(); });" +
+        "    return originalSend.apply(this, arguments);" +
+        "  };" +
+        "  window.__pageSettle = state;" +
+        "}";
+
+    static final String AWAIT_SCRIPT =
+        "var quiet = arguments[0], timeout = arguments[1], callback = arguments[arguments.length - 1];" +
+        INSTALL_SCRIPT +
+        "var state = window.__pageSettle, start = performance.now();" +
+        "(function check() {" +
+        "  var now = performance.now();" +
+        "  var settled = document.readyState !== 'loading' && state.pending === 0 && now - state.lastActivity >= quiet;" +
+        "  if (settled || now - start >= timeout) {" +
+        "    callback({ settled: settled, waited: Math.round(now - start), pending: state.pending, mutations: state.mutations });" +
+        "  } else {" +
+        "    setTimeout(check, Math.min(50, quiet));" +
+        "  }" +
+        "})();";
+
+    public static class SettleResult {
+        private final boolean settled;
+        private final long waitedMillis;
+        private final long pendingRequests;
+        private final long mutations;
+
+        SettleResult(boolean settled, long waitedMillis, long pendingRequests, long mutations) {
+            this.settled = settled;
+            this.waitedMillis = waitedMillis;
+            this.pendingRequests = pendingRequests;
+            this.mutations = mutations;
+        }
+
+        public boolean isSettled() {
+            return settled;
+        }
+
+        public long getWaitedMillis() {
+            return waitedMillis;
+        }
+
+        public long getPendingRequests() {
+            return pendingRequests;
+        }
+
+        public long getMutations() {
+            return mutations;
+        }
+    }
+
+    private PageSettleDetector() {
+    }
+
+    public static void installOnNewDocument(DevTools devTools) {
+        devTools.send(Page.addScriptToEvaluateOnNewDocument(
+            INSTALL_SCRIPT, Optional.empty(), Optional.empty(), Optional.empty()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SettleResult awaitSettled(JavascriptExecutor js, Duration quietWindow, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            Object result = js.executeAsyncScript(AWAIT_SCRIPT, quietWindow.toMillis(), timeout.toMillis());
+            Map<String, Object> values = result instanceof Map ? (Map<String, Object>) result : Map.of();
+            return new SettleResult(
+                Boolean.TRUE.equals(values.get("settled")),
+                toLong(values.get("waited")),
+                toLong(values.get("pending")),
+                toLong(values.get("mutations")));
+        } finally {
+            TimingRegistry.record("wait: page settle", System.nanoTime() - start);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
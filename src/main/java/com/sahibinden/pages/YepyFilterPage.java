@@ -1,5 +1,10 @@
 package com.sahibinden.pages;
 
+import com.sahibinden.util.TimingRegistry;
+import com.sahibinden.devtools.NetworkIdleTracker;
+import com.sahibinden.listing.ListingSnapshot;
+import com.sahibinden.listing.TurkishPriceParser;
+import com.sahibinden.listing.YepyListingQuery;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -7,103 +12,117 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.time.Duration;
 import java.util.List;
-import java.util.ArrayList;
-import org.openqa.selenium.By;
 
 @Component
 public class YepyFilterPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(YepyFilterPage.class);
+    private static final String PHONE_PRICE_XPATH = "//div[@class='sui-color-primary-default sui-global-surface-body-lead-bold searchResultsPriceValue']";
+    private static final Duration LISTING_UPDATE_TIMEOUT = Duration.ofSeconds(15);
+    private static final String PRICE_CONTAINER_XPATH = ".//div[@class='classified-price-container refurbishment-classified-price-container sui-global-surface-body-lead-bold']";
 
     @Autowired
     @Qualifier("webDriver")
     private WebDriver driver;
 
+    @Value("${test.listing.max.pages:10}")
+    private int maxListingPages = 10;
+
     @FindBy(xpath = "//a[@id='advancedSorting']")
-    private WebElement sortingDropdown;
+    WebElement sortingDropdown;
 
     @FindBy(css = "a[title='Fiyat: Yüksekten düşüğe']")
-    private WebElement priceHighToLowOption;
+    WebElement priceHighToLowOption;
 
     @FindBy(css = "a[title='Fiyat: Düşükten yükseğe']")
-    private WebElement priceLowToHighOption;
+    WebElement priceLowToHighOption;
 
-    @FindBy(xpath = "//div[@class='sui-color-primary-default sui-global-surface-body-lead-bold searchResultsPriceValue']")
-    private List<WebElement> phoneList;
+    @FindBy(xpath = PHONE_PRICE_XPATH)
+    List<WebElement> phoneList;
 
     @FindBy(css = "a[title='Apple'] h2[class='sui-global-component-value-sm']")
-    private WebElement applePhone;
+    WebElement applePhone;
 
     @FindBy(xpath = "(//input[@class='js-manual-search-input sui-input'])[2]")
-    private WebElement highestInputField;
+    WebElement highestInputField;
 
     @FindBy(xpath = "//button[@sui-type='button']")
-    private WebElement searchButton;
+    WebElement searchButton;
 
     @FindBy(xpath = "//select[@id='sorting']")
-    private WebElement mobileSortingDropdown;
+    WebElement mobileSortingDropdown;
 
     @FindBy(xpath = "//option[@value='price_asc']")
-    private WebElement mobilePriceHighToLowOption;
+    WebElement mobilePriceHighToLowOption;
 
     @FindBy(xpath = "//option[@value='price_desc']")
-    private WebElement mobilePriceLowToHighOption;
+    WebElement mobilePriceLowToHighOption;
 
     @FindBy(xpath = "//a[@class='search-filter ']")
-    private WebElement mobileFilterButton;
+    WebElement mobileFilterButton;
 
     @FindBy(xpath = "//div[contains(@class, 'filter-section')]//*[contains(text(), 'Fiyat')]")
-    private WebElement mobilePriceFilterSection;
+    WebElement mobilePriceFilterSection;
 
     @FindBy(xpath = "//a[@class='mui-btn']")
-    private WebElement mobileModelButton;
+    WebElement mobileModelButton;
 
     @FindBy(xpath = "(//span[@class='sui-global-surface-body-lead sui-color-emphasis-high ng-binding'])[1]")
-    private WebElement mobileAppleModelFilter;
+    WebElement mobileAppleModelFilter;
 
     @FindBy(xpath = "//div[@class='refurbishment-brand ng-scope']")
-    private WebElement mobileAllFilterButton;
+    WebElement mobileAllFilterButton;
 
     @FindBy(xpath = "//button[@class='sui-button rfb-btn-bottom']")
-    private WebElement mobileFilterApplyButton;
+    WebElement mobileFilterApplyButton;
 
     @FindBy(xpath = "//button[contains(text(), 'Sonuçları Listele') or contains(text(), 'Sonuçları Göster')]")
-    private WebElement mobileShowResultsButton;
+    WebElement mobileShowResultsButton;
 
     @FindBy(xpath = "//a[@class='mui-btn ng-scope']")
-    private WebElement mobilePriceButton;
+    WebElement mobilePriceButton;
 
     @FindBy(xpath = "(//input[@name='price_max'])[1]")
-    private WebElement mobileMaxPriceInput;
+    WebElement mobileMaxPriceInput;
 
     @FindBy(xpath = "//button[@class='sui-button rfb-btn-bottom']")
-    private WebElement mobileApplyButton;
+    WebElement mobileApplyButton;
 
     @FindBy(xpath = "//input[@id='fair']")
-    private WebElement fairConditionCheckbox;
+    WebElement fairConditionCheckbox;
 
     @FindBy(xpath = "//button[contains(text(), 'Filtrele') or contains(text(), 'Ara')]")
-    private WebElement filterButton;
+    WebElement filterButton;
     
     @FindBy(xpath = "//a[@title='İyi']")
-    private WebElement fairConditionLabel;
+    WebElement fairConditionLabel;
 
     @FindBy(xpath = "(//li[@class='item ng-scope has-selected-data'])[2]")
-    private WebElement mobileCosmeticConditionFilter;
+    WebElement mobileCosmeticConditionFilter;
 
     @FindBy(xpath = "//button[contains(text(), 'Uygula')]")
-    private WebElement mobileApplyFilterButton;
+    WebElement mobileApplyFilterButton;
 
     @FindBy(xpath = "//span[@class='sui-global-surface-body ng-binding ng-scope']")
-    private WebElement mobileFairConditionSelectedLabel;
-
-    private boolean isResponsiveMode = false;
+    WebElement mobileFairConditionSelectedLabel;
 
     public enum SortOrder {
-        HIGH_TO_LOW,
-        LOW_TO_HIGH
+        HIGH_TO_LOW(YepyListingQuery.Sort.PRICE_DESC),
+        LOW_TO_HIGH(YepyListingQuery.Sort.PRICE_ASC);
+
+        private final YepyListingQuery.Sort listingSort;
+
+        SortOrder(YepyListingQuery.Sort listingSort) {
+            this.listingSort = listingSort;
+        }
+
+        public YepyListingQuery.Sort toListingSort() {
+            return listingSort;
+        }
     }
 
     @Autowired
@@ -111,49 +130,46 @@ public class YepyFilterPage extends BasePage {
         super(driver);
     }
 
-    public boolean setResponsiveMode(boolean isResponsive) {
+    public boolean openListing(YepyListingQuery query) {
         try {
-            this.isResponsiveMode = isResponsive;
-            logger.info("Responsive mode set to: {}", isResponsive ? "enabled" : "disabled");
-            return true;
+            return execute("openListing", () -> {
+                String url = query.toUrl(baseUrl);
+                logger.info("Opening listing: {}", url);
+                navigateTo(url, "listing");
+
+                waitForCondition(driver -> driver.getCurrentUrl().contains(YepyListingQuery.LISTING_PATH),
+                    10, "Listing page to open");
+                waitForListingUpdate("Listing page");
+                logger.info("Listing opened: {}", driver.getCurrentUrl());
+                return true;
+            });
         } catch (Exception e) {
-            logger.error("Failed to set responsive mode: {}", e.getMessage());
+            logger.error("Failed to open listing {}: {}", query, e.getMessage());
             return false;
         }
     }
 
     public boolean sortByPrice(SortOrder order) {
-        try {
+        try (TimingRegistry.Timer ignored = step("sortByPrice")) {
             logger.info("Applying price filter: {}", order);
-            detectResponsiveMode();
-            
-            if (isResponsiveMode) {
-                waitForElementVisible(mobileSortingDropdown);
-                clickElement(mobileSortingDropdown);
-                
-                WebElement option = (order == SortOrder.HIGH_TO_LOW) ? 
-                    mobilePriceHighToLowOption : mobilePriceLowToHighOption;
-                waitForElementVisible(option);
-                clickElement(option);
+
+            WebElement dropdown;
+            WebElement option;
+            if (isResponsiveMode()) {
+                dropdown = mobileSortingDropdown;
+                option = (order == SortOrder.HIGH_TO_LOW) ? mobilePriceHighToLowOption : mobilePriceLowToHighOption;
             } else {
-                waitForElementVisible(sortingDropdown);
-                clickElement(sortingDropdown);
-                
-                WebElement option = (order == SortOrder.HIGH_TO_LOW) ? 
-                    priceHighToLowOption : priceLowToHighOption;
-                waitForElementVisible(option);
-                clickElement(option);
+                dropdown = sortingDropdown;
+                option = (order == SortOrder.HIGH_TO_LOW) ? priceHighToLowOption : priceLowToHighOption;
             }
 
-            waitForCondition(driver -> {
-                try {
-                    return !phoneList.isEmpty() && isElementDisplayed(phoneList.get(0));
-                } catch (Exception e) {
-                    return false;
-                }
-            }, 10, "Price sorting results to be visible");
-            
-            waitForPageLoad();
+            // The dropdown click toggles the menu, so the clicks run once and only the wait is retried.
+            waitForElementVisible(dropdown);
+            clickElement(dropdown);
+            waitForElementVisible(option);
+            clickElement(option);
+
+            execute("waitForListingUpdate", true, () -> waitForListingUpdate("Price sorting results"));
             logger.info("Price sorting {} applied", order);
             return true;
         } catch (Exception e) {
@@ -164,109 +180,59 @@ public class YepyFilterPage extends BasePage {
 
     public boolean verifyPriceSorting(SortOrder expectedOrder) {
         try {
-            logger.info("Verifying prices are sorted {}", expectedOrder);
-            waitForElementVisible(phoneList.get(0));
-            
-            List<Long> prices = extractPrices();
-            
-            if (prices.size() < 2) {
-                logger.warn("Not enough valid prices found to verify sorting: {}", prices.size());
-                return true;
-            }
-
-            boolean sorted = verifyPriceOrder(prices, expectedOrder);
-            
-            if (sorted) {
-                logger.info("Prices are correctly sorted {}", expectedOrder);
-                return true;
-            } else {
-                logger.error("Prices are NOT sorted {}", expectedOrder);
-                return false;
-            }
-        } catch (Exception e) {
-            logger.error("Error verifying price sorting: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private List<Long> extractPrices() {
-        List<Long> prices = new ArrayList<>();
-        try {
-            waitForElementVisible(phoneList.get(0));
-            logger.info("Found {} phone elements", phoneList.size());
+            return execute("verifyPriceSorting", () -> {
+                logger.info("Verifying prices are sorted {}", expectedOrder);
+                waitForFirstVisible(phoneList, "Phone prices");
             
-            for (WebElement phone : phoneList) {
-                try {
-                    WebElement priceElement = phone.findElement(By.xpath(".//div[@class='classified-price-container refurbishment-classified-price-container sui-global-surface-body-lead-bold']"));
-                    String priceText = priceElement.getText().trim();
-                    logger.info("Raw price text: {}", priceText);
-                    
-                    long price = parsePrice(priceText);
-                    if (price > 0) {
-                        prices.add(price);
-                        logger.info("Successfully parsed price: {}", price);
-                    } else {
-                        logger.warn("Invalid or zero price parsed from: {}", priceText);
+                long previous = TurkishPriceParser.INVALID;
+                int priced = 0;
+                try (ListingPageIterator pages = listingPages()) {
+                    while (pages.hasNext()) {
+                        ListingSnapshot page = pages.next();
+                        int outOfOrder = page.firstOutOfOrder(expectedOrder.toListingSort(), previous);
+                        if (outOfOrder != ListingSnapshot.NONE) {
+                            int before = page.previousPriced(outOfOrder);
+                            logger.error("Prices are NOT sorted {}: found {} before {} kuruş on page {} ({})", expectedOrder,
+                                before == ListingSnapshot.NONE ? previous : page.price(before), page.price(outOfOrder),
+                                pages.getPageNumber(), pages.getCurrentUrl());
+                            return false;
+                        }
+                        if (page.pricedCount() > 0) {
+                            previous = page.lastPrice();
+                            priced += page.pricedCount();
+                        }
+                    }
+                
+                    if (priced < 2) {
+                        logger.warn("Not enough valid prices found to verify sorting: {}", priced);
+                        return true;
                     }
-                } catch (Exception e) {
-                    logger.warn("Error processing phone element: {}", e.getMessage());
+                    logger.info("Prices are correctly sorted {} across {} pages ({} prices)", expectedOrder, pages.getPageNumber(), priced);
+                    return true;
                 }
-            }
-            
-            logger.info("Total prices extracted: {}", prices.size());
+            });
         } catch (Exception e) {
-            logger.error("Error extracting prices: {}", e.getMessage());
-        }
-        return prices;
-    }
-
-    private long parsePrice(String priceText) {
-        if (priceText == null || priceText.trim().isEmpty()) {
-            logger.warn("Empty price text provided");
-            return 0;
-        }
-        
-        try {
-            String cleanPrice = priceText.replaceAll("[^0-9]", "");
-            logger.debug("Cleaned price text from '{}' to '{}'", priceText, cleanPrice);
-            
-            if (cleanPrice.isEmpty()) {
-                logger.warn("No numeric characters found in price text: {}", priceText);
-                return 0;
-            }
-            
-            return Long.parseLong(cleanPrice);
-        } catch (NumberFormatException e) {
-            logger.error("Failed to parse price from text: {}", priceText, e);
-            return 0;
+            logger.error("Error verifying price sorting: {}", e.getMessage());
+            return false;
         }
     }
 
-    private boolean verifyPriceOrder(List<Long> prices, SortOrder expectedOrder) {
-        for (int i = 0; i < prices.size() - 1; i++) {
-            if (expectedOrder == SortOrder.HIGH_TO_LOW && prices.get(i) < prices.get(i + 1)) {
-                logger.error("Prices not sorted correctly. Found {} before {}", prices.get(i), prices.get(i + 1));
-                return false;
-            } else if (expectedOrder == SortOrder.LOW_TO_HIGH && prices.get(i) > prices.get(i + 1)) {
-                logger.error("Prices not sorted correctly. Found {} before {}", prices.get(i), prices.get(i + 1));
-                return false;
-            }
-        }
-        return true;
+    ListingPageIterator listingPages() {
+        BulkQuery prices = BulkQuery.xpath(PHONE_PRICE_XPATH).text("price", PRICE_CONTAINER_XPATH);
+        return new ListingPageIterator(js, prices, "price", maxListingPages);
     }
 
     public boolean setMaximumPriceFilter(String maxPrice) {
-        try {
+        try (TimingRegistry.Timer ignored = step("setMaximumPriceFilter")) {
             logger.info("Setting maximum price filter to {}", maxPrice);
-            detectResponsiveMode();
             
-            if (isResponsiveMode) {
+            if (isResponsiveMode()) {
                 applyMobilePriceFilter(maxPrice);
             } else {
                 applyDesktopPriceFilter(maxPrice);
             }
             
-            waitForPageLoad();
+            waitForListingUpdate("Filtered price results");
             logger.info("Successfully set maximum price filter");
             return true;
         } catch (Exception e) {
@@ -301,62 +267,52 @@ public class YepyFilterPage extends BasePage {
         waitForElementVisible(searchButton);
         clickElement(searchButton);
         logger.info("Clicked on the search button");
+    }
 
-        waitForCondition(driver -> {
-            try {
-                return !phoneList.isEmpty() && isElementDisplayed(phoneList.get(0));
-            } catch (Exception e) {
-                return false;
-            }
-        }, 10, "Filtered price results to be visible");
-        
+    private void waitForListingUpdate(String reason) {
+        waitForNetworkIdle(NetworkIdleTracker.sameSiteAs(driver.getCurrentUrl()), LISTING_UPDATE_TIMEOUT, reason);
+        waitForFirstVisible(phoneList, reason);
         waitForPageLoad();
-        logger.info("Price filter applied successfully");
     }
 
     public boolean verifyAllPhonesAreBelowPrice(long maxPrice) {
         try {
-            logger.info("Verifying all phones are below the maximum price: {}", maxPrice);
-            detectResponsiveMode();
-            
-            List<Long> prices = extractPrices();
-            if (prices.isEmpty()) {
-                logger.warn("No phone prices found to verify");
-                return false;
-            }
-            
-            boolean allBelowMaxPrice = verifyAllPricesBelowMax(prices, maxPrice);
+            return execute("verifyAllPhonesAreBelowPrice", () -> {
+                logger.info("Verifying all phones are below the maximum price: {}", maxPrice);
+                waitForFirstVisible(phoneList, "Phone prices");
             
-            if (allBelowMaxPrice) {
-                logger.info("All phones are below or equal to the maximum price");
-            } else {
-                logger.error("Some phones are above the maximum price");
-            }
-            
-            return allBelowMaxPrice;
+                int priced = 0;
+                try (ListingPageIterator pages = listingPages()) {
+                    while (pages.hasNext()) {
+                        ListingSnapshot page = pages.next();
+                        int above = page.firstAbove(TurkishPriceParser.toKurus(maxPrice));
+                        if (above != ListingSnapshot.NONE) {
+                            logger.error("Found phone above maximum price on page {}. Price: {} kuruş, Maximum: {}",
+                                pages.getPageNumber(), page.price(above), maxPrice);
+                            return false;
+                        }
+                        priced += page.pricedCount();
+                    }
+                
+                    if (priced == 0) {
+                        logger.warn("No phone prices found to verify");
+                        return false;
+                    }
+                    logger.info("All {} phones on {} pages are below or equal to the maximum price", priced, pages.getPageNumber());
+                    return true;
+                }
+            });
         } catch (Exception e) {
             logger.error("Error occurred while verifying phone prices: {}", e.getMessage());
             return false;
         }
     }
 
-    private boolean verifyAllPricesBelowMax(List<Long> prices, long maxPrice) {
-        for (Long price : prices) {
-            if (price > maxPrice) {
-                logger.error("Found phone above maximum price. Price: {}, Maximum: {}", price, maxPrice);
-                return false;
-            }
-            logger.info("Phone price is below maximum: {}", price);
-        }
-        return true;
-    }
-
     public boolean clickApplePhoneFilter() {
-        try {
+        try (TimingRegistry.Timer ignored = step("clickApplePhoneFilter")) {
             logger.info("Applying Apple phone filter");
-            detectResponsiveMode();
             
-            if (isResponsiveMode) {
+            if (isResponsiveMode()) {
                 applyMobileAppleFilter();
             } else {
                 applyDesktopAppleFilter();
@@ -395,26 +351,16 @@ public class YepyFilterPage extends BasePage {
         logger.info("Applied Apple filter in desktop view");
 
         waitForCondition(driver -> {
-            try {
-                return !phoneList.isEmpty() && isElementDisplayed(phoneList.get(0));
-            } catch (Exception e) {
-                return false;
-            }
+            return isDisplayedNow(phoneList);
         }, 10, "Apple filtered results to be visible");
         
         waitForPageLoad();
         logger.info("Apple filter applied successfully");
     }
 
-    @Override
-    public boolean detectResponsiveMode() {
-        return super.detectResponsiveMode();
-    }
-
     public boolean filterFairConditionPhones() {
-        try {
+        try (TimingRegistry.Timer ignored = step("filterFairConditionPhones")) {
             logger.info("Filtering phones with 'Fair' condition");
-            detectResponsiveMode();
             
             waitForElementVisible(fairConditionCheckbox);
             clickElement(fairConditionCheckbox);
@@ -433,9 +379,8 @@ public class YepyFilterPage extends BasePage {
     }
 
     public boolean verifyFairConditionFilterApplied() {
-        try {
+        try (TimingRegistry.Timer ignored = step("verifyFairConditionFilterApplied")) {
             logger.info("Verifying 'Fair' condition filter was applied");
-            Thread.sleep(5000);
             waitForElementVisible(fairConditionLabel);
             
             boolean isVisible = isElementDisplayed(fairConditionLabel);
@@ -449,9 +394,8 @@ public class YepyFilterPage extends BasePage {
     }
 
     public boolean filterMobileFairConditionPhones() {
-        try {
+        try (TimingRegistry.Timer ignored = step("filterMobileFairConditionPhones")) {
             logger.info("Filtering phones with 'Fair' condition in mobile view");
-            detectResponsiveMode();
 
             waitForElementVisible(mobileFilterButton);
             clickElement(mobileFilterButton);
@@ -482,7 +426,7 @@ public class YepyFilterPage extends BasePage {
     }
 
     public boolean verifyMobileFairConditionFilterApplied() {
-        try {
+        try (TimingRegistry.Timer ignored = step("verifyMobileFairConditionFilterApplied")) {
             logger.info("Verifying 'Fair' condition filter was applied in mobile view");
             waitForElementVisible(mobileFilterButton);
             clickElement(mobileFilterButton);
@@ -1,15 +1,16 @@
 package com.sahibinden.pages;
 
+import com.sahibinden.util.TimingRegistry;
+import com.sahibinden.devtools.NetworkIdleTracker;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import java.time.Duration;
 import java.util.function.Function;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
@@ -17,60 +18,37 @@ import org.openqa.selenium.JavascriptExecutor;
 @Component
 public class YepyNavigationPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(YepyNavigationPage.class);
-    private static final String HOME_PAGE_URL = "https://www.sahibinden.com";
     private static final By COOKIE_ACCEPT_BUTTON = By.id("onetrust-accept-btn-handler");
     private static final By REFURBISHED_PHONES_BUTTON = By.xpath("(//a[@class='sui-button banner-section-buttons'])[1]");
 
     @FindBy(xpath = "//a[@id='yepy-link-primary']")
-    private WebElement yepyLink;
+    WebElement yepyLink;
 
     @FindBy(xpath = "//a[@title='Yenilenmiş telefon al']")
-    private WebElement refurbishedPhonesLink;
+    WebElement refurbishedPhonesLink;
 
     @FindBy(xpath = "(//a[@class='sui-button'])[1]")
-    private WebElement refurbishedPhonesButton;
+    WebElement refurbishedPhonesButton;
 
     @FindBy(css = ".sui-navbar__responsive-menu-toggle")
-    private WebElement mobileMenuToggle;
+    WebElement mobileMenuToggle;
 
     @FindBy(xpath = "//a[@class='refurbishment-home-category mui-btn category-id-0']")
-    private WebElement mobileYepyLink;
+    WebElement mobileYepyLink;
 
     @FindBy(xpath = "(//a[@class='sui-button'])[1]")
-    private WebElement mobileRefurbishedPhonesLink;
-
-    private boolean isResponsiveMode = false;
+    WebElement mobileRefurbishedPhonesLink;
 
     @Autowired
     public YepyNavigationPage(@Qualifier("webDriver") WebDriver driver) {
         super(driver);
     }
 
-    public boolean setResponsiveMode(boolean isResponsive) {
-        try {
-            this.isResponsiveMode = isResponsive;
-            logger.info("Responsive mode set to: {}", isResponsive ? "enabled" : "disabled");
-            return true;
-        } catch (Exception e) {
-            logger.error("Failed to set responsive mode: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    public boolean detectResponsiveMode() {
-        int width = driver.manage().window().getSize().getWidth();
-        boolean isResponsive = width <= 767;
-        setResponsiveMode(isResponsive);
-        logger.info("Browser width: {}px, Responsive mode: {}", width, isResponsive);
-        return isResponsive;
-    }
-
     public boolean clickLink(String linkType) {
-        try {
+        try (TimingRegistry.Timer ignored = step("clickLink")) {
             logger.info("Clicking on {} link", linkType);
-            detectResponsiveMode();
             
-            if (isResponsiveMode) {
+            if (isResponsiveMode()) {
                 clickMobileLink(linkType);
             } else {
                 clickDesktopLink(linkType);
@@ -130,8 +108,8 @@ public class YepyNavigationPage extends BasePage {
     }
 
     public boolean navigateToHomePage() {
-        try {
-            logger.info("Starting navigation to home page: {}", HOME_PAGE_URL);
+        try (TimingRegistry.Timer ignored = step("navigateToHomePage")) {
+            logger.info("Starting navigation to home page: {}", baseUrl);
 
             if (driver == null) {
                 logger.error("WebDriver is null");
@@ -139,25 +117,24 @@ public class YepyNavigationPage extends BasePage {
             }
 
             try {
-                driver.manage().deleteAllCookies();
-                if (!detectResponsiveMode()) {
+                if (!isResponsiveMode()) {
                     driver.manage().window().maximize();
                 }
-                logger.info("Cleared cookies and configured window size");
+                logger.info("Configured window size");
             } catch (Exception e) {
-                logger.warn("Failed to clear cookies or configure window: {}", e.getMessage());
+                logger.warn("Failed to configure window: {}", e.getMessage());
 
             }
 
             try {
-                driver.get(HOME_PAGE_URL);
+                navigateTo(baseUrl, "home page");
                 waitForPageLoad();
                 
                 String currentUrl = driver.getCurrentUrl();
                 logger.info("Current URL after navigation: {}", currentUrl);
                 
-                if (!currentUrl.contains("sahibinden.com")) {
-                    logger.error("Navigation failed, URL does not contain sahibinden.com");
+                if (!NetworkIdleTracker.sameSiteAs(baseUrl).test(currentUrl)) {
+                    logger.error("Navigation failed, URL is not on the site of {}", baseUrl);
                     return false;
                 }
                 
@@ -175,7 +152,7 @@ public class YepyNavigationPage extends BasePage {
     }
 
     public boolean navigateToRefurbishedPhones(String deviceType, Function<String, Void> takeScreenshot) {
-        try {
+        try (TimingRegistry.Timer ignored = step("navigateToRefurbishedPhones")) {
             logger.info("{} - Starting navigation to Refurbished Phones page", deviceType);
             
             performInitialSetup(deviceType, takeScreenshot);
@@ -204,12 +181,6 @@ public class YepyNavigationPage extends BasePage {
                 }
             }
 
-            waitForCondition(driver -> {
-                return ((JavascriptExecutor) driver)
-                    .executeScript("return document.readyState")
-                    .equals("complete");
-            }, 10, "Page load after window switch");
-            
             waitForPageLoad();
 
             WebElement refurbishedPhonesButton = waitForElementToBeClickable(REFURBISHED_PHONES_BUTTON);
@@ -247,18 +218,16 @@ public class YepyNavigationPage extends BasePage {
     }
 
     protected WebElement waitForElementToBeClickable(By locator) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, java.time.Duration.ofSeconds(10));
-            return wait.until(ExpectedConditions.elementToBeClickable(locator));
-        } catch (Exception e) {
-            logger.warn("Element not clickable: {}", locator);
-            return null;
-        }
+        return waitForElementToBeClickable(locator, Duration.ofSeconds(10));
     }
 
     public boolean acceptCookies() {
-        try {
-            WebElement cookieButton = waitForElementToBeClickable(COOKIE_ACCEPT_BUTTON);
+        try (TimingRegistry.Timer ignored = step("acceptCookies")) {
+            if (isConsentGiven()) {
+                logger.info("Cookie consent already given");
+                return true;
+            }
+            WebElement cookieButton = waitForElementToBeClickable(COOKIE_ACCEPT_BUTTON, COOKIE_BANNER_TIMEOUT);
             if (cookieButton != null) {
                 cookieButton.click();
                 logger.info("Cookies accepted");
@@ -273,7 +242,7 @@ public class YepyNavigationPage extends BasePage {
     }
 
     public boolean navigateToRefurbishedPhonesSection(String deviceType) {
-        try {
+        try (TimingRegistry.Timer ignored = step("navigateToRefurbishedPhonesSection")) {
             logger.info("Navigating to Refurbished Phones section in {} mode", deviceType);
             if (!clickLink("YEPY")) {
                 logger.error("Failed to click Yepy link");
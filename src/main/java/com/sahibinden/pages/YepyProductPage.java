@@ -1,5 +1,9 @@
 package com.sahibinden.pages;
 
+import com.sahibinden.listing.ConsistencyReport;
+import com.sahibinden.listing.ListingSnapshot;
+import com.sahibinden.listing.TurkishPriceParser;
+import com.sahibinden.util.TimingRegistry;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -7,9 +11,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
 import java.util.List;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.time.Duration;
 import org.openqa.selenium.By;
@@ -18,62 +23,58 @@ import org.openqa.selenium.By;
 public class YepyProductPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(YepyProductPage.class);
+    private static final String PHONE_TITLE_CSS = "div[class='sui-color-emphasis-high sui-global-surface-body-lead-semibold searchResultsTagAttributeValue']";
+    private static final String MOBILE_PHONE_TITLE_XPATH = "//h2[@class='refurbishment-item-content-title sui-global-surface-body-semibold sui-color-emphasis-high']";
+    private static final String PHONE_CARD_XPATH = "//div[@class='refurbishment-content-box']";
+    private static final String DETAIL_TITLE_XPATH = "//div[@class='refurb-section-infos']//h1[contains(@class,'sui-global-surface-page-title refurb-section-infos-title sui-color-emphasis-high')]";
+    private static final String DETAIL_PRICE_CSS = ".sui-global-surface-page-title.sui-color-primary-default.refurb-section-infos-price";
 
-    @FindBy(xpath = "//div[@class='refurbishment-content-box']")
-    private WebElement firstPhone;
+    @FindBy(xpath = PHONE_CARD_XPATH)
+    WebElement firstPhone;
 
     @FindBy(xpath = "(//div[@class='sui-color-emphasis-high sui-global-surface-body-lead-semibold searchResultsTagAttributeValue'])[1]")
-    private WebElement firstPhoneTitle;
+    WebElement firstPhoneTitle;
 
     @FindBy(xpath = "(//div[@class='sui-color-primary-default sui-global-surface-body-lead-bold searchResultsPriceValue'])[1]")
-    private WebElement firstPhonePrice;
+    WebElement firstPhonePrice;
 
-    @FindBy(xpath = "//div[@class='refurb-section-infos']//h1[contains(@class,'sui-global-surface-page-title refurb-section-infos-title sui-color-emphasis-high')]")
-    private WebElement firstPhoneDetailTitle;
+    @FindBy(xpath = DETAIL_TITLE_XPATH)
+    WebElement firstPhoneDetailTitle;
 
-    @FindBy(css = ".sui-global-surface-page-title.sui-color-primary-default.refurb-section-infos-price")
-    private WebElement firstPhoneDetailPrice;
+    @FindBy(css = DETAIL_PRICE_CSS)
+    WebElement firstPhoneDetailPrice;
 
     @FindBy(xpath = "//h1[@class='sui-global-surface-page-title']")
-    private WebElement refurbishedAppleTitle;
+    WebElement refurbishedAppleTitle;
 
-    @FindBy(css = "div[class='sui-color-emphasis-high sui-global-surface-body-lead-semibold searchResultsTagAttributeValue']")
-    private List<WebElement> applePhoneList;
+    @FindBy(css = PHONE_TITLE_CSS)
+    List<WebElement> applePhoneList;
 
-    @FindBy(xpath = "//h2[@class='refurbishment-item-content-title sui-global-surface-body-semibold sui-color-emphasis-high']")
-    private List<WebElement> mobileApplePhoneList;
+    @FindBy(xpath = MOBILE_PHONE_TITLE_XPATH)
+    List<WebElement> mobileApplePhoneList;
 
     @FindBy(xpath = "//div[@class='refurbishment-item-content-price sui-global-surface-body-bold sui-color-primary-default']")
-    private List<WebElement> mobileApplePriceList;
+    List<WebElement> mobileApplePriceList;
 
-    private boolean isResponsiveMode = false;
+    @Value("${test.consistency.mode:fetch}")
+    private String consistencyMode = "fetch";
+
+    @Value("${test.consistency.fan.out:4}")
+    private int consistencyFanOut = 4;
+
+    @Value("${test.consistency.fetch.concurrency:8}")
+    private int fetchConcurrency = 8;
+
+    @Value("${test.consistency.detail.timeout:20}")
+    private int detailTimeoutSeconds = 20;
 
     @Autowired
     public YepyProductPage(@Qualifier("webDriver") WebDriver driver) {
         super(driver);
     }
 
-    public boolean setResponsiveMode(boolean isResponsive) {
-        try {
-            this.isResponsiveMode = isResponsive;
-            logger.info("Responsive mode set to: {}", isResponsive ? "enabled" : "disabled");
-            return true;
-        } catch (Exception e) {
-            logger.error("Failed to set responsive mode: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    public boolean detectResponsiveMode() {
-        int width = driver.manage().window().getSize().getWidth();
-        boolean isResponsive = width <= 767;
-        setResponsiveMode(isResponsive);
-        logger.info("Browser width: {}px, Responsive mode: {}", width, isResponsive);
-        return isResponsive;
-    }
-
     public boolean clickFirstPhone() {
-        try {
+        try (TimingRegistry.Timer ignored = step("clickFirstPhone")) {
             logger.info("Clicking on first phone listing");
             waitForElementVisible(firstPhone);
 
@@ -83,7 +84,7 @@ public class YepyProductPage extends BasePage {
 
             clickElement(firstPhone);
 
-            WebElement detailTitle = waitForElementToBeVisible(By.xpath("//div[@class='refurb-section-infos']//h1[contains(@class,'sui-global-surface-page-title refurb-section-infos-title sui-color-emphasis-high')]"));
+            WebElement detailTitle = waitForElementToBeVisible(By.xpath(DETAIL_TITLE_XPATH), Duration.ofSeconds(10));
             if (detailTitle != null) {
                 logger.info("Successfully navigated to phone detail page");
                 waitForPageLoad();
@@ -98,16 +99,6 @@ public class YepyProductPage extends BasePage {
         }
     }
 
-    private WebElement waitForElementToBeVisible(By locator) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, java.time.Duration.ofSeconds(10));
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-        } catch (Exception e) {
-            logger.warn("Element not visible: {}", locator);
-            return null;
-        }
-    }
-
     public String getFirstPhoneTitle() {
         return getElementText(firstPhoneTitle);
     }
@@ -122,21 +113,24 @@ public class YepyProductPage extends BasePage {
 
     public boolean waitForRefurbishedAppleTitle(int timeoutInSeconds) {
         try {
-            logger.info("Apple title visibility wait started");
-            detectResponsiveMode();
+            return execute("waitForRefurbishedAppleTitle", () -> {
+                logger.info("Apple title visibility wait started");
             
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+                AdaptiveWait wait = this.wait.withTimeout(Duration.ofSeconds(timeoutInSeconds));
             
-            if (isResponsiveMode) {
-                wait.until(ExpectedConditions.visibilityOfAllElements(mobileApplePhoneList));
-                logger.info("Mobile view Apple phones list visible");
-            } else {
-                wait.until(ExpectedConditions.visibilityOf(refurbishedAppleTitle));
-                String title = getElementText(refurbishedAppleTitle);
-                logger.info("Refurbished Apple title visible: {}", title);
-            }
+                if (isResponsiveMode()) {
+                    wait.withMessage("Mobile Apple phone list to be visible")
+                        .until(webDriver -> isDisplayedNow(mobileApplePhoneList));
+                    logger.info("Mobile view Apple phones list visible");
+                } else {
+                    wait.withMessage("Refurbished Apple title to be visible")
+                        .until(ExpectedConditions.visibilityOf(refurbishedAppleTitle));
+                    String title = getElementText(refurbishedAppleTitle);
+                    logger.info("Refurbished Apple title visible: {}", title);
+                }
             
-            return true;
+                return true;
+            });
         } catch (Exception e) {
             logger.error("Apple title not visible within {} seconds: {}", 
                     timeoutInSeconds, e.getMessage());
@@ -146,47 +140,55 @@ public class YepyProductPage extends BasePage {
 
     public boolean verifyAllPhonesAreApple() {
         try {
-            logger.info("Checking all phones are Apple");
-            detectResponsiveMode();
+            return execute("verifyAllPhonesAreApple", () -> {
+                logger.info("Checking all phones are Apple");
             
-            List<WebElement> phoneElements = getPhoneElements();
-            if (phoneElements.isEmpty()) {
-                logger.warn("No phone found");
-                return false;
-            }
+                ListingSnapshot phoneTitles = getPhoneTitles();
+                if (phoneTitles.isEmpty()) {
+                    logger.warn("No phone found");
+                    return false;
+                }
             
-            return verifyPhoneBrands(phoneElements);
+                return verifyPhoneBrands(phoneTitles);
+            });
         } catch (Exception e) {
             logger.error("Error checking Apple phones: {}", e.getMessage());
             return false;
         }
     }
 
-    private List<WebElement> getPhoneElements() {
-        if (isResponsiveMode) {
-            waitForElementVisible(mobileApplePhoneList.get(0));
-            logger.info("Mobile view {} phone found", mobileApplePhoneList.size());
-            return mobileApplePhoneList;
+    private ListingSnapshot getPhoneTitles() {
+        BulkQuery query;
+        if (isResponsiveMode()) {
+            waitForFirstVisible(mobileApplePhoneList, "Mobile phone titles");
+            query = BulkQuery.xpath(MOBILE_PHONE_TITLE_XPATH).text("title");
         } else {
-            waitForElementVisible(applePhoneList.get(0));
-            logger.info("Desktop view {} phone found", applePhoneList.size());
-            return applePhoneList;
+            waitForFirstVisible(applePhoneList, "Desktop phone titles");
+            query = BulkQuery.css(PHONE_TITLE_CSS).text("title");
+        }
+
+        List<BulkQuery.Row> rows = queryAll(query);
+        ListingSnapshot.Builder titles = ListingSnapshot.builder(rows.size());
+        for (BulkQuery.Row row : rows) {
+            titles.add(row.has("title") ? row.text("title") : "", TurkishPriceParser.INVALID);
         }
+        logger.info("{} view {} phone found", isResponsiveMode() ? "Mobile" : "Desktop", rows.size());
+        return titles.build();
     }
 
-    private boolean verifyPhoneBrands(List<WebElement> phoneElements) {
+    static boolean verifyPhoneBrands(ListingSnapshot phoneTitles) {
         boolean allAreApple = true;
         int count = 0;
         
-        for (WebElement phone : phoneElements) {
-            String phoneTitle = getElementText(phone).toLowerCase();
+        for (int i = 0; i < phoneTitles.size(); i++) {
+            String phoneTitle = phoneTitles.title(i).toLowerCase();
             count++;
             
             if (!isApplePhone(phoneTitle)) {
                 logger.error("Non-Apple phone found: {}", phoneTitle);
                 allAreApple = false;
             } else {
-                logger.info("Apple phone verified: {}", phoneTitle);
+                logger.debug("Apple phone verified: {}", phoneTitle);
             }
         }
         
@@ -194,11 +196,11 @@ public class YepyProductPage extends BasePage {
         return allAreApple;
     }
 
-    private boolean isApplePhone(String phoneTitle) {
+    static boolean isApplePhone(String phoneTitle) {
         return phoneTitle.contains("iphone") || phoneTitle.contains("apple");
     }
 
-    private void logVerificationResults(int count, boolean allAreApple) {
+    private static void logVerificationResults(int count, boolean allAreApple) {
         logger.info("Total {} phones checked, {} Apple phones verified", 
                 count, allAreApple ? count : (count - 1));
     }
@@ -214,7 +216,7 @@ public class YepyProductPage extends BasePage {
     }
 
     public boolean verifyPriceConsistency() {
-        try {
+        try (TimingRegistry.Timer ignored = step("verifyPriceConsistency")) {
             logger.info("Verifying price consistency between listing and detail pages");
 
             String listingPrice = getFirstPhonePrice();
@@ -228,10 +230,10 @@ public class YepyProductPage extends BasePage {
             String detailPrice = getDetailPagePrice();
             logger.info("Detail page price: {}", detailPrice);
 
-            long cleanListingPrice = parsePrice(listingPrice);
-            long cleanDetailPrice = parsePrice(detailPrice);
+            long cleanListingPrice = TurkishPriceParser.parseKurus(listingPrice);
+            long cleanDetailPrice = TurkishPriceParser.parseKurus(detailPrice);
             
-            if (cleanListingPrice == cleanDetailPrice) {
+            if (cleanListingPrice != TurkishPriceParser.INVALID && cleanListingPrice == cleanDetailPrice) {
                 logger.info("Price consistency verified successfully");
                 return true;
             } else {
@@ -244,39 +246,92 @@ public class YepyProductPage extends BasePage {
         }
     }
 
-    private long parsePrice(String priceText) {
-        if (priceText == null || priceText.trim().isEmpty()) {
-            logger.warn("Empty price text provided");
-            return 0;
-        }
-        
+    /**
+     * Compares title and price of every listing on the current result page with its detail page, and reports
+     * all mismatches together. With {@code test.consistency.mode=fetch} the detail pages are fetched and parsed
+     * from this page in one script call; with {@code tabs} they are loaded in extra tabs of this session.
+     */
+    public boolean verifyListingConsistency() {
         try {
-            String cleanPrice = priceText.replaceAll("[^0-9]", "");
-            logger.debug("Cleaned price text from '{}' to '{}'", priceText, cleanPrice);
-            
-            if (cleanPrice.isEmpty()) {
-                logger.warn("No numeric characters found in price text: {}", priceText);
-                return 0;
-            }
-            
-            return Long.parseLong(cleanPrice);
-        } catch (NumberFormatException e) {
-            logger.error("Failed to parse price from text: {}", priceText, e);
-            return 0;
+            return execute("verifyListingConsistency", () -> {
+                logger.info("Verifying listing and detail consistency for every listing on the page ({} mode)", consistencyMode);
+                waitForElementVisible(firstPhone, "Phone listings");
+
+                List<BulkQuery.Row> rows = queryAll(listingCardQuery());
+                ConsistencyReport report = new ConsistencyReport();
+                List<BulkQuery.Row> linked = new ArrayList<>();
+                List<String> urls = new ArrayList<>();
+                for (BulkQuery.Row row : rows) {
+                    String url = row.href("url");
+                    if (url == null) {
+                        report.unreachable(row.getIndex(), null, "no detail link");
+                    } else {
+                        linked.add(row);
+                        urls.add(url);
+                    }
+                }
+
+                List<DetailPage> details = detailPageLoader().load(urls);
+                for (int i = 0; i < details.size(); i++) {
+                    BulkQuery.Row row = linked.get(i);
+                    DetailPage detail = details.get(i);
+                    if (!detail.isLoaded()) {
+                        report.unreachable(row.getIndex(), detail.getUrl(), detail.getError());
+                        continue;
+                    }
+                    report.check(row.getIndex(), detail.getUrl(),
+                        row.text("title"), TurkishPriceParser.parseKurus(row.text("price")),
+                        detail.getTitle(), TurkishPriceParser.parseKurus(detail.getPrice()));
+                }
+
+                for (ConsistencyReport.Mismatch mismatch : report.getMismatches()) {
+                    logger.error("Listing/detail mismatch {}", mismatch);
+                }
+                if (report.isConsistent()) {
+                    logger.info("Listing and detail pages are consistent: {}", report.summary());
+                } else {
+                    logger.error("Listing and detail pages are NOT consistent: {}", report.summary());
+                }
+                return report.isConsistent();
+            });
+        } catch (Exception e) {
+            logger.error("Error verifying listing consistency: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private DetailPageLoader detailPageLoader() {
+        Duration detailTimeout = Duration.ofSeconds(detailTimeoutSeconds);
+        if (ConsistencyMode.parse(consistencyMode) == ConsistencyMode.TABS) {
+            return new DetailTabFanOut(driver, wait.withTimeout(detailTimeout), consistencyFanOut,
+                DETAIL_TITLE_XPATH, DETAIL_PRICE_CSS);
         }
+        return new DetailFetchLoader(driver, fetchConcurrency, detailTimeout, DETAIL_TITLE_XPATH, DETAIL_PRICE_CSS);
+    }
+
+    private BulkQuery listingCardQuery() {
+        BulkQuery query = BulkQuery.xpath(PHONE_CARD_XPATH).href("url", null);
+        if (isResponsiveMode()) {
+            return query.text("title", ".//h2[contains(@class,'refurbishment-item-content-title')]")
+                .text("price", ".//div[contains(@class,'refurbishment-item-content-price')]");
+        }
+        return query.text("title", PHONE_TITLE_CSS)
+            .text("price", ".//div[contains(@class,'searchResultsPriceValue')]");
     }
 
     public long getProductPrice() {
-        try {
-            detectResponsiveMode();
+        try (TimingRegistry.Timer ignored = step("getProductPrice")) {
             
-            WebElement priceElement = isResponsiveMode ? mobileApplePriceList.get(0) : firstPhonePrice;
+            if (isResponsiveMode()) {
+                waitForFirstVisible(mobileApplePriceList, "Mobile product prices");
+            }
+            WebElement priceElement = isResponsiveMode() ? mobileApplePriceList.get(0) : firstPhonePrice;
             waitForElementVisible(priceElement, "Product price element");
             
             String priceText = priceElement.getText().trim();
             logger.info("Raw product price: {}", priceText);
             
-            long price = parsePrice(priceText);
+            long price = Math.max(0, TurkishPriceParser.toLira(TurkishPriceParser.parseKurus(priceText)));
             logger.info("Parsed product price: {}", price);
             
             return price;
@@ -287,9 +342,12 @@ public class YepyProductPage extends BasePage {
     }
 
     public boolean verifyProductDetails() {
-        try {
+        try (TimingRegistry.Timer ignored = step("verifyProductDetails")) {
             logger.info("Verifying product details");
-            WebElement productDetailElement = isResponsiveMode ? mobileApplePhoneList.get(0) : firstPhone;
+            if (isResponsiveMode()) {
+                waitForFirstVisible(mobileApplePhoneList, "Mobile product names");
+            }
+            WebElement productDetailElement = isResponsiveMode() ? mobileApplePhoneList.get(0) : firstPhone;
             waitForElementVisible(productDetailElement, "Product name element");
             
             String productNameText = productDetailElement.getText().trim();
@@ -0,0 +1,283 @@
+package com.sahibinden.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>_Elements} binder for every {@code BasePage} subclass. Each binder implements
+ * {@code PageBinder}: it binds the page's own {@code @FindBy} fields and instantiates the page without
+ * reflection. Locators become static {@code By} constants and fields receive lazy handles that resolve on
+ * first use. Binders are found at runtime by name through {@code PageBinders}, so no aggregate class has to be
+ * rebuilt from a single round when only some pages are recompiled.
+ */
+@SupportedAnnotationTypes("*")
+public class PageObjectProcessor extends AbstractProcessor {
+    static final String BASE_PAGE = "com.sahibinden.pages.BasePage";
+    static final String PAGE_BINDER = "com.sahibinden.pages.PageBinder";
+    static final String BINDER_SUFFIX = "_Elements";
+    private static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String WEB_ELEMENT_LIST = "java.util.List<org.openqa.selenium.WebElement>";
+    private static final Map<String, String> LOCATORS = new LinkedHashMap<>();
+    private static final Map<String, String> HOW_LOCATORS = new LinkedHashMap<>();
+
+    static {
+        LOCATORS.put("id", "id");
+        LOCATORS.put("name", "name");
+        LOCATORS.put("className", "className");
+        LOCATORS.put("css", "cssSelector");
+        LOCATORS.put("tagName", "tagName");
+        LOCATORS.put("linkText", "linkText");
+        LOCATORS.put("partialLinkText", "partialLinkText");
+        LOCATORS.put("xpath", "xpath");
+
+        HOW_LOCATORS.put("ID", "id");
+        HOW_LOCATORS.put("NAME", "name");
+        HOW_LOCATORS.put("CLASS_NAME", "className");
+        HOW_LOCATORS.put("CSS", "cssSelector");
+        HOW_LOCATORS.put("TAG_NAME", "tagName");
+        HOW_LOCATORS.put("LINK_TEXT", "linkText");
+        HOW_LOCATORS.put("PARTIAL_LINK_TEXT", "partialLinkText");
+        HOW_LOCATORS.put("XPATH", "xpath");
+    }
+
+    private static class BoundField {
+        private final String name;
+        private final String constant;
+        private final String locatorMethod;
+        private final String locatorValue;
+        private final boolean list;
+
+        BoundField(String name, String locatorMethod, String locatorValue, boolean list) {
+            this.name = name;
+            this.constant = toConstantName(name);
+            this.locatorMethod = locatorMethod;
+            this.locatorValue = locatorValue;
+            this.list = list;
+        }
+    }
+
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+        TypeElement basePage = processingEnv.getElementUtils().getTypeElement(BASE_PAGE);
+        if (basePage == null) {
+            return false;
+        }
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (type.getKind() != ElementKind.CLASS || !isPage(type, basePage)
+                    || !processed.add(type.getQualifiedName().toString())) {
+                continue;
+            }
+            List<BoundField> fields = collectFields(type);
+            if (fields != null) {
+                writeBinder(type, fields);
+            }
+        }
+        return false;
+    }
+
+    private boolean isPage(TypeElement type, TypeElement basePage) {
+        return processingEnv.getTypeUtils().isSubtype(
+            processingEnv.getTypeUtils().erasure(type.asType()),
+            processingEnv.getTypeUtils().erasure(basePage.asType()));
+    }
+
+    private List<BoundField> collectFields(TypeElement page) {
+        List<BoundField> fields = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(page.getEnclosedElements())) {
+            AnnotationMirror findBy = findByAnnotation(field);
+            if (findBy == null) {
+                continue;
+            }
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.FINAL)) {
+                error(field, "@FindBy field must be a non-private, non-static, non-final instance field");
+                valid = false;
+                continue;
+            }
+            String type = field.asType().toString();
+            boolean list = WEB_ELEMENT_LIST.equals(type);
+            if (!list && !WEB_ELEMENT.equals(type)) {
+                error(field, "@FindBy field must be a WebElement or List<WebElement>, found " + type);
+                valid = false;
+                continue;
+            }
+            String[] locator = locatorOf(findBy);
+            if (locator == null) {
+                error(field, "@FindBy must declare exactly one supported locator");
+                valid = false;
+                continue;
+            }
+            fields.add(new BoundField(field.getSimpleName().toString(), locator[0], locator[1], list));
+        }
+        return valid ? fields : null;
+    }
+
+    private AnnotationMirror findByAnnotation(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (FIND_BY.equals(mirror.getAnnotationType().toString())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String[] locatorOf(AnnotationMirror findBy) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : findBy.getElementValues().entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), String.valueOf(entry.getValue().getValue()));
+        }
+
+        String[] locator = null;
+        for (Map.Entry<String, String> entry : LOCATORS.entrySet()) {
+            String value = values.get(entry.getKey());
+            if (value != null && !value.isEmpty()) {
+                if (locator != null) {
+                    return null;
+                }
+                locator = new String[] {entry.getValue(), value};
+            }
+        }
+        String using = values.get("using");
+        if (using != null && !using.isEmpty()) {
+            String how = HOW_LOCATORS.get(values.getOrDefault("how", "ID"));
+            if (locator != null || how == null) {
+                return null;
+            }
+            locator = new String[] {how, using};
+        }
+        return locator;
+    }
+
+    private void writeBinder(TypeElement page, List<BoundField> fields) {
+        String packageName = packageOf(page);
+        String pageType = page.getQualifiedName().toString();
+        String binderName = page.getSimpleName() + BINDER_SUFFIX;
+        try (PrintWriter out = open(qualified(packageName, binderName), page)) {
+            header(out, packageName);
+            out.println("public final class " + binderName + " implements " + PAGE_BINDER + "<" + pageType + "> {");
+            for (BoundField field : fields) {
+                out.println("    static final org.openqa.selenium.By " + field.constant + " = org.openqa.selenium.By."
+                    + field.locatorMethod + "(" + processingEnv.getElementUtils().getConstantExpression(field.locatorValue)
+                    + ");");
+            }
+            if (!fields.isEmpty()) {
+                out.println();
+            }
+            out.println("    public " + binderName + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void bind(" + pageType + " page, org.openqa.selenium.SearchContext context) {");
+            for (BoundField field : fields) {
+                String handle = field.list ? "com.sahibinden.pages.LazyElementList" : "com.sahibinden.pages.LazyElement";
+                out.println("        page." + field.name + " = new " + handle + "(context, " + field.constant + ");");
+            }
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + pageType + " create(org.openqa.selenium.WebDriver driver) {");
+            if (isInstantiable(page)) {
+                out.println("        return new " + pageType + "(driver);");
+            } else {
+                out.println("        throw new UnsupportedOperationException(\"" + pageType
+                    + " cannot be created by its binder\");");
+            }
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            error(page, "Could not write element binder: " + e.getMessage());
+        }
+    }
+
+    private boolean isInstantiable(TypeElement page) {
+        if (page.getModifiers().contains(Modifier.ABSTRACT) || !page.getModifiers().contains(Modifier.PUBLIC)
+                || page.getNestingKind().isNested()) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(page.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().size() == 1) {
+                TypeMirror parameter = constructor.getParameters().get(0).asType();
+                if ("org.openqa.selenium.WebDriver".equals(parameter.toString())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private PrintWriter open(String qualifiedName, Element... origins) throws IOException {
+        Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, origins).openWriter();
+        return new PrintWriter(writer);
+    }
+
+    private void header(PrintWriter out, String packageName) {
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("@javax.annotation.processing.Generated(\"" + PageObjectProcessor.class.getName() + "\")");
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    private static String qualified(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    static String toConstantName(String fieldName) {
+        StringBuilder constant = new StringBuilder(fieldName.length() + 8);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                constant.append('_');
+            }
+            constant.append(Character.toUpperCase(c));
+        }
+        return constant.toString();
+    }
+}
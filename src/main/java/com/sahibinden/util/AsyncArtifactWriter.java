@@ -0,0 +1,178 @@
+package com.sahibinden.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes artifacts on one background thread through a bounded queue. Content is produced on the writer
+ * thread (decoding, compression), so the caller only pays for the enqueue. When the queue is full the caller
+ * waits up to {@code enqueueTimeout}; after that the artifact is written inline rather than dropped. Waits
+ * are recorded under {@code <name>: queue wait}, writes under {@code <name>: write}.
+ */
+public class AsyncArtifactWriter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncArtifactWriter.class);
+
+    private final String name;
+    private final BlockingQueue<Job> queue;
+    private final long enqueueTimeoutMillis;
+    private final Thread worker;
+    private volatile boolean closed;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong inline = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    public AsyncArtifactWriter(String name, int capacity, long enqueueTimeoutMillis) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.worker = new Thread(this::drain, name + "-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void submit(Path target, Callable<byte[]> content) {
+        Job job = new Job(target, content);
+        submitted.incrementAndGet();
+        if (closed) {
+            write(job);
+            inline.incrementAndGet();
+            return;
+        }
+        if (!queue.offer(job)) {
+            blocked.incrementAndGet();
+            boolean queued;
+            try (TimingRegistry.Timer ignored = TimingRegistry.start(name + ": queue wait")) {
+                queued = queue.offer(job, enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                logger.warn("{} queue full, writing {} inline", name, target.getFileName());
+                inline.incrementAndGet();
+                write(job);
+                return;
+            }
+        }
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    public Stats getStats() {
+        return new Stats(submitted.get(), written.get(), failed.get(), blocked.get(), inline.get(), maxDepth.get());
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Job job = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (job != null) {
+                    write(job);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(Job job) {
+        try (TimingRegistry.Timer ignored = TimingRegistry.start(name + ": write")) {
+            byte[] bytes = job.content.call();
+            Path parent = job.target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(job.target, bytes);
+            written.incrementAndGet();
+            logger.info("{} saved to: {}", name, job.target);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("Failed to write {} {}: {}", name, job.target, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (submitted.get() > 0) {
+            logger.info("{} writer: {}", name, getStats());
+        }
+    }
+
+    private static final class Job {
+        private final Path target;
+        private final Callable<byte[]> content;
+
+        private Job(Path target, Callable<byte[]> content) {
+            this.target = target;
+            this.content = content;
+        }
+    }
+
+    public static final class Stats {
+        private final long submitted;
+        private final long written;
+        private final long failed;
+        private final long blocked;
+        private final long inline;
+        private final int maxDepth;
+
+        Stats(long submitted, long written, long failed, long blocked, long inline, int maxDepth) {
+            this.submitted = submitted;
+            this.written = written;
+            this.failed = failed;
+            this.blocked = blocked;
+            this.inline = inline;
+            this.maxDepth = maxDepth;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getBlocked() {
+            return blocked;
+        }
+
+        public long getInline() {
+            return inline;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("submitted %d, written %d, failed %d, blocked %d, inline %d, max queue depth %d",
+                submitted, written, failed, blocked, inline, maxDepth);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.sahibinden.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for tasks that mostly block on browsers, grids or sockets. On a JDK with virtual threads each
+ * task gets its own virtual thread; otherwise tasks share at most {@code maxThreads} daemon platform threads.
+ */
+public final class BlockingExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(BlockingExecutors.class);
+    private static final MethodHandle VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private BlockingExecutors() {
+    }
+
+    public static boolean isVirtualThreadsAvailable() {
+        return VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    public static ExecutorService newExecutor(String name, int maxThreads) {
+        if (VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke();
+            } catch (Throwable e) {
+                logger.warn("Virtual thread executor unavailable, using platform threads: {}", e.getMessage());
+            }
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static MethodHandle findVirtualThreadExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(java.util.concurrent.Executors.class,
+                "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
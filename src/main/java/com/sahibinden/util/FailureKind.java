@@ -0,0 +1,101 @@
+package com.sahibinden.util;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Classifies a failure by walking its cause chain. A dead session anywhere in the chain wins, since
+ * retrying a step against it cannot succeed; otherwise the outermost recognised cause decides. Only stale
+ * elements and blocked interactions are retryable by default: a timeout has already waited its full budget,
+ * so steps retry it only when they opt in, and a missing element is not expected to appear on a retry.
+ */
+public enum FailureKind {
+    TIMEOUT(false),
+    STALE_ELEMENT(true),
+    INTERACTION(true),
+    NOT_FOUND(false),
+    SESSION(false),
+    ASSERTION(false),
+    OTHER(false);
+
+    private static final int MAX_CAUSE_DEPTH = 16;
+    private static final List<String> SESSION_MESSAGES = List.of(
+        "chrome not reachable", "disconnected", "session deleted", "target crashed", "tab crashed",
+        "invalid session id", "connection refused");
+
+    private final boolean retryable;
+
+    FailureKind(boolean retryable) {
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public static FailureKind classify(Throwable failure) {
+        int depth = 0;
+        for (Throwable t = failure; t != null && depth < MAX_CAUSE_DEPTH; t = t.getCause(), depth++) {
+            if (isSessionFailure(t)) {
+                return SESSION;
+            }
+        }
+        depth = 0;
+        for (Throwable t = failure; t != null && depth < MAX_CAUSE_DEPTH; t = t.getCause(), depth++) {
+            FailureKind kind = direct(t);
+            if (kind != OTHER) {
+                return kind;
+            }
+        }
+        return OTHER;
+    }
+
+    private static FailureKind direct(Throwable t) {
+        if (t instanceof StepRetry.StepFailedException) {
+            return ((StepRetry.StepFailedException) t).getKind();
+        }
+        if (t instanceof TimeoutException || t instanceof ScriptTimeoutException
+            || t instanceof java.util.concurrent.TimeoutException) {
+            return TIMEOUT;
+        }
+        if (t instanceof StaleElementReferenceException) {
+            return STALE_ELEMENT;
+        }
+        if (t instanceof ElementClickInterceptedException || t instanceof ElementNotInteractableException
+            || t instanceof MoveTargetOutOfBoundsException) {
+            return INTERACTION;
+        }
+        if (t instanceof NoSuchElementException) {
+            return NOT_FOUND;
+        }
+        if (t instanceof AssertionError) {
+            return ASSERTION;
+        }
+        return OTHER;
+    }
+
+    private static boolean isSessionFailure(Throwable t) {
+        if (t instanceof NoSuchSessionException || t instanceof SessionNotCreatedException
+            || t instanceof UnreachableBrowserException || t instanceof NoSuchWindowException) {
+            return true;
+        }
+        if (!(t instanceof WebDriverException) || t.getMessage() == null) {
+            return false;
+        }
+        String message = t.getMessage().toLowerCase(Locale.ROOT);
+        return SESSION_MESSAGES.stream().anyMatch(message::contains);
+    }
+}
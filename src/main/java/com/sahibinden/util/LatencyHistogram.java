@@ -0,0 +1,58 @@
+package com.sahibinden.util;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogram {
+
+    private final String name;
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(Duration duration) {
+        recordNanos(duration.toNanos());
+    }
+
+    public void recordNanos(long nanos) {
+        histogram.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    public double meanMillis() {
+        return histogram.getMean() / 1000.0;
+    }
+
+    public double totalMillis() {
+        return meanMillis() * getCount();
+    }
+
+    public Histogram snapshot() {
+        return histogram.copy();
+    }
+
+    public String summary() {
+        return String.format("%s - count: %d, p50: %.1f ms, p90: %.1f ms, p99: %.1f ms, max: %.1f ms",
+            name, getCount(), percentileMillis(50), percentileMillis(90), percentileMillis(99), maxMillis());
+    }
+}
@@ -1,5 +1,6 @@
 package com.sahibinden.util;
 
+import com.sahibinden.config.DeviceMode;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
@@ -14,17 +15,14 @@ import java.util.Map;
 public class ResponsiveTestHelper {
     private static final Logger logger = LoggerFactory.getLogger(ResponsiveTestHelper.class);
 
-    @Value("${test.responsive.mode:false}")
-    private boolean responsiveMode;
-
     @Value("${test.responsive.width:400}")
     private int responsiveWidth;
 
     @Value("${test.responsive.height:674}")
     private int responsiveHeight;
 
-    public void configureResponsiveMode(WebDriver driver) {
-        if (responsiveMode) {
+    public void configureWindow(WebDriver driver, DeviceMode mode) {
+        if (mode.isMobile()) {
             logger.info("Setting browser to responsive mode: {}x{}", responsiveWidth, responsiveHeight);
             driver.manage().window().setSize(new Dimension(responsiveWidth, responsiveHeight));
         } else {
@@ -33,10 +31,6 @@ public class ResponsiveTestHelper {
         }
     }
 
-    public boolean isResponsiveMode() {
-        return responsiveMode;
-    }
-
     public Map<String, Integer> getResponsiveDimensions() {
         Map<String, Integer> dimensions = new HashMap<>();
         dimensions.put("width", responsiveWidth);
@@ -0,0 +1,151 @@
+package com.sahibinden.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a failed page step on the same session when the failure is transient. Timeouts are retried
+ * only for steps that pass {@code retryTimeouts}, since each attempt waits out the full timeout. Session-level
+ * failures are not retried here; they are remembered for the current thread so the test runner can
+ * retry the whole test on a fresh session. A step that has already given up is rethrown untouched,
+ * so nested steps never multiply each other's attempts.
+ */
+public class StepRetry {
+    private static final Logger logger = LoggerFactory.getLogger(StepRetry.class);
+    private static final ThreadLocal<Throwable> sessionFailure = new ThreadLocal<>();
+    private static final Map<FailureKind, LongAdder> retries = new ConcurrentHashMap<>();
+    private static final LongAdder recovered = new LongAdder();
+    private static final LongAdder exhausted = new LongAdder();
+    private static final LongAdder testRetries = new LongAdder();
+
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public StepRetry(int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    public <T> T run(String step, Supplier<T> action) {
+        return run(step, action, false);
+    }
+
+    public <T> T run(String step, Supplier<T> action, boolean retryTimeouts) {
+        int attempt = 0;
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                T result = action.get();
+                if (attempt > 0) {
+                    recovered.increment();
+                    logger.info("Step {} recovered after {} retries", step, attempt);
+                }
+                return result;
+            } catch (StepFailedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                FailureKind kind = FailureKind.classify(e);
+                if (kind == FailureKind.SESSION) {
+                    sessionFailure.set(e);
+                }
+                boolean retryable = kind.isRetryable() || (retryTimeouts && kind == FailureKind.TIMEOUT);
+                if (!retryable || attempt >= maxRetries) {
+                    if (retryable) {
+                        exhausted.increment();
+                    }
+                    if (attempt > 0) {
+                        TimingRegistry.record("retry: " + step, System.nanoTime() - start);
+                    }
+                    throw new StepFailedException(step, kind, attempt + 1, e);
+                }
+                attempt++;
+                retries.computeIfAbsent(kind, k -> new LongAdder()).increment();
+                Duration backoff = backoff(attempt);
+                logger.warn("Step {} failed ({}: {}), retry {}/{} in {} ms",
+                    step, kind, e.getMessage(), attempt, maxRetries, backoff.toMillis());
+                sleep(step, kind, attempt, backoff, e);
+                TimingRegistry.record("retry: " + step, System.nanoTime() - start);
+            }
+        }
+    }
+
+    Duration backoff(int retry) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(retry - 1, 20));
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void sleep(String step, FailureKind kind, int attempt, Duration backoff, RuntimeException cause) {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException(step, kind, attempt, cause);
+        }
+    }
+
+    public static Optional<Throwable> takeSessionFailure() {
+        Throwable failure = sessionFailure.get();
+        sessionFailure.remove();
+        return Optional.ofNullable(failure);
+    }
+
+    public static void clearSessionFailure() {
+        sessionFailure.remove();
+    }
+
+    public static void recordTestRetry() {
+        testRetries.increment();
+    }
+
+    public static Map<FailureKind, Long> retryCounts() {
+        Map<FailureKind, Long> counts = new TreeMap<>();
+        retries.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    public static String summary() {
+        return String.format("step retries=%s, recovered=%d, exhausted=%d, test retries=%d",
+            retryCounts(), recovered.sum(), exhausted.sum(), testRetries.sum());
+    }
+
+    public static void logSummary() {
+        logger.info("Retry {}", summary());
+    }
+
+    public static class StepFailedException extends RuntimeException {
+        private final String step;
+        private final FailureKind kind;
+        private final int attempts;
+
+        StepFailedException(String step, FailureKind kind, int attempts, Throwable cause) {
+            super("Failed to " + step + " after " + attempts + " attempt(s) [" + kind + "]: " + cause.getMessage(), cause);
+            this.step = step;
+            this.kind = kind;
+            this.attempts = attempts;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        public FailureKind getKind() {
+            return kind;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+}
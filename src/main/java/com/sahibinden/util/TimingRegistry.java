@@ -0,0 +1,55 @@
+package com.sahibinden.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class TimingRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TimingRegistry.class);
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private TimingRegistry() {
+    }
+
+    public static void record(String name, long nanos) {
+        histogram(name).recordNanos(nanos);
+    }
+
+    public static Timer start(String name) {
+        return new Timer(name, System.nanoTime());
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public static Map<String, LatencyHistogram> snapshot() {
+        return new TreeMap<>(histograms);
+    }
+
+    public static void reset() {
+        histograms.clear();
+    }
+
+    public static void logSummary() {
+        snapshot().values().forEach(histogram -> logger.info("Timing {}", histogram.summary()));
+    }
+
+    public static final class Timer implements AutoCloseable {
+        private final String name;
+        private final long start;
+
+        private Timer(String name, long start) {
+            this.name = name;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            record(name, System.nanoTime() - start);
+        }
+    }
+}
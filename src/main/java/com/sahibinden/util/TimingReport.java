@@ -0,0 +1,86 @@
+package com.sahibinden.util;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the {@link TimingRegistry} histograms as {@code timings.json} and a plain-text table sorted by
+ * total time, so the steps that dominate wall-clock time are at the top.
+ */
+public final class TimingReport {
+    private static final Logger logger = LoggerFactory.getLogger(TimingReport.class);
+    static final String JSON_FILE = "timings.json";
+    static final String TABLE_FILE = "timings.txt";
+
+    private TimingReport() {
+    }
+
+    public static void write(Map<String, LatencyHistogram> histograms, Path directory) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        List<LatencyHistogram> sorted = new ArrayList<>(histograms.values());
+        sorted.sort(Comparator.comparingDouble(LatencyHistogram::totalMillis).reversed());
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(JSON_FILE), toJson(sorted), StandardCharsets.UTF_8);
+            String table = toTable(sorted);
+            Files.writeString(directory.resolve(TABLE_FILE), table, StandardCharsets.UTF_8);
+            logger.info("Step timings written to {}\n{}", directory.toAbsolutePath(), table);
+        } catch (IOException e) {
+            logger.warn("Could not write timing report to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    static String toJson(List<LatencyHistogram> histograms) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (LatencyHistogram histogram : histograms) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", histogram.getName());
+            entry.put("count", histogram.getCount());
+            entry.put("totalMs", round(histogram.totalMillis()));
+            entry.put("meanMs", round(histogram.meanMillis()));
+            entry.put("p50Ms", histogram.percentileMillis(50));
+            entry.put("p90Ms", histogram.percentileMillis(90));
+            entry.put("p99Ms", histogram.percentileMillis(99));
+            entry.put("maxMs", histogram.maxMillis());
+            entries.add(entry);
+        }
+        return new Json().toJson(entries);
+    }
+
+    static String toTable(List<LatencyHistogram> histograms) {
+        int width = "Step".length();
+        for (LatencyHistogram histogram : histograms) {
+            width = Math.max(width, histogram.getName().length());
+        }
+        String row = "%-" + width + "s %8s %10s %10s %10s %10s %10s%n";
+        StringBuilder table = new StringBuilder(String.format(row, "Step", "Count", "Total s", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        for (LatencyHistogram histogram : histograms) {
+            table.append(String.format(row,
+                histogram.getName(),
+                histogram.getCount(),
+                String.format("%.2f", histogram.totalMillis() / 1000.0),
+                String.format("%.1f", histogram.percentileMillis(50)),
+                String.format("%.1f", histogram.percentileMillis(90)),
+                String.format("%.1f", histogram.percentileMillis(99)),
+                String.format("%.1f", histogram.maxMillis())));
+        }
+        return table.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
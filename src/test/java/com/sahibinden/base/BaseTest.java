@@ -1,51 +1,77 @@
 package com.sahibinden.base;
 
+import com.sahibinden.config.DeviceMode;
+import com.sahibinden.config.WebDriverManager;
+import com.sahibinden.devtools.BlockingProfile;
+import com.sahibinden.devtools.NetworkIdleTracker;
+import com.sahibinden.devtools.ScreenshotCapture;
+import com.sahibinden.devtools.SessionSnapshot;
+import com.sahibinden.devtools.SessionSnapshotStore;
 import com.sahibinden.util.ResponsiveTestHelper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Duration;
 
 @SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith({TestLogExtension.class, SessionRetryExtension.class})
 public abstract class BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
     @Autowired(required = false)
     private ResponsiveTestHelper responsiveTestHelper;
 
+    @Autowired
+    private WebDriverManager driverManager;
+
+    @Autowired
+    private SessionSnapshotStore snapshotStore;
+
+    @Autowired
+    private ScreenshotCapture screenshotCapture;
+
     @Value("${test.timeout:30}")
     protected int timeout;
 
+    @Value("${test.base.url}")
+    protected String baseUrl;
+
+    @Value("${test.retry.test.count:1}")
+    protected int testRetryCount = 1;
+
     protected WebDriver driver;
 
     @BeforeEach
     protected void setUp() {
         try {
             logger.info("Setting up test");
+            driverManager.setSessionOwner(getClass().getSimpleName());
+            driverManager.setDeviceMode(resolveDeviceMode());
             
             if (driver == null) {
                 logger.error("Driver is not initialized. Please inject the appropriate driver in the test class.");
                 throw new IllegalStateException("Driver must be initialized before setUp");
             }
 
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(timeout));
+            driverManager.applyBlockingProfile(resolveBlockingProfile());
 
-            if (responsiveTestHelper != null && responsiveTestHelper.isResponsiveMode()) {
-                logger.info("Configuring responsive mode with dimensions: {}", 
-                        responsiveTestHelper.getResponsiveDimensions());
-                responsiveTestHelper.configureResponsiveMode(driver);
-            } else {
+            DeviceMode mode = driverManager.getDeviceMode();
+            if (responsiveTestHelper != null) {
+                logger.info("Configuring {} window, responsive dimensions: {}", 
+                        mode.label(), responsiveTestHelper.getResponsiveDimensions());
+                responsiveTestHelper.configureWindow(driver, mode);
+            } else if (!mode.isMobile()) {
                 driver.manage().window().maximize();
             }
             
@@ -57,13 +83,71 @@ public abstract class BaseTest {
         }
     }
 
+    protected DeviceMode resolveDeviceMode() {
+        for (Tag tag : getClass().getAnnotationsByType(Tag.class)) {
+            if (DeviceMode.MOBILE.label().equalsIgnoreCase(tag.value())) {
+                return DeviceMode.MOBILE;
+            }
+        }
+        return DeviceMode.DESKTOP;
+    }
+
+    protected BlockingProfile resolveBlockingProfile() {
+        ResourceBlocking blocking = getClass().getAnnotation(ResourceBlocking.class);
+        if (blocking != null) {
+            return blocking.value();
+        }
+        for (Tag tag : getClass().getAnnotationsByType(Tag.class)) {
+            for (BlockingProfile profile : BlockingProfile.values()) {
+                if (profile.name().equalsIgnoreCase(tag.value())) {
+                    return profile;
+                }
+            }
+        }
+        return driverManager.getDefaultBlockingProfile();
+    }
+
+    /**
+     * Seeds the session with the cookies and storage captured after an earlier bootstrap of the same
+     * device mode. Returns false when there is no usable snapshot, in which case the test should
+     * bootstrap normally and call {@link #captureSession()}.
+     */
+    protected boolean restoreSession() {
+        String profile = driverManager.getDeviceMode().label();
+        return snapshotStore.load(profile)
+            .filter(snapshot -> NetworkIdleTracker.sameSiteAs(baseUrl).test(snapshot.getOrigin()))
+            .map(snapshot -> snapshotStore.restore(driverManager.getDevTools(), snapshot))
+            .orElse(false);
+    }
+
+    protected void captureSession() {
+        if (!snapshotStore.isEnabled()) {
+            return;
+        }
+        try {
+            SessionSnapshot snapshot = snapshotStore.capture(driver);
+            snapshotStore.save(driverManager.getDeviceMode().label(), snapshot);
+        } catch (Exception e) {
+            logger.warn("Could not capture session snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the current session without returning it to the pool and runs the test setup again, which
+     * leases a fresh session on first use.
+     */
+    void recoverSession() {
+        driverManager.closeDriver();
+        setUp();
+    }
+
     @AfterEach
     void tearDown() {
         try {
             if (driver != null) {
-                driver.quit();
+                driverManager.releaseDriver();
                 driver = null;
-                logger.info("Browser closed successfully");
+                logger.info("Browser session released to pool");
             }
         } catch (Exception e) {
             logger.error("Error in tearDown: {}", e.getMessage());
@@ -73,19 +157,9 @@ public abstract class BaseTest {
     }
 
     protected void takeScreenshot(String name) {
-        try {
-            if (driver instanceof TakesScreenshot) {
-                byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-
-                Path screenshotDir = Paths.get("target", "screenshots");
-                Files.createDirectories(screenshotDir);
-                Path screenshotPath = screenshotDir.resolve(name + ".png");
-                Files.write(screenshotPath, screenshot);
-                
-                logger.info("Screenshot saved to: {}", screenshotPath);
-            }
-        } catch (Exception e) {
-            logger.error("Error taking screenshot: {}", e.getMessage());
+        if (driver == null || !screenshotCapture.isEnabled()) {
+            return;
         }
+        screenshotCapture.capture(driver, driverManager.getDevTools(), name);
     }
 } 
\ No newline at end of file
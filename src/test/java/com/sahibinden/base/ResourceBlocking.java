@@ -0,0 +1,16 @@
+package com.sahibinden.base;
+
+import com.sahibinden.devtools.BlockingProfile;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ResourceBlocking {
+    BlockingProfile value();
+}
@@ -0,0 +1,112 @@
+package com.sahibinden.base;
+
+import com.sahibinden.config.GridSlotScheduler;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Sizes JUnit's worker pool to the number of browser sessions this JVM can hold, so every running test
+ * owns a session and the remaining tests wait as queued tasks instead of as blocked threads.
+ * The pool is saturated at that size: no compensation threads are added when a worker blocks.
+ */
+public class SessionCapacityParallelStrategy implements ParallelExecutionConfigurationStrategy {
+    private static final Logger logger = LoggerFactory.getLogger(SessionCapacityParallelStrategy.class);
+    static final String CAPACITY_PARAMETER = "sahibinden.parallel.capacity";
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    private static class SessionCapacityConfiguration implements ParallelExecutionConfiguration {
+        private final int capacity;
+
+        SessionCapacityConfiguration(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int getParallelism() {
+            return capacity;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return capacity;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return capacity;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return capacity;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            return pool -> true;
+        }
+    }
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters parameters) {
+        int capacity = parameters.get(CAPACITY_PARAMETER, Integer::parseInt)
+            .orElseGet(() -> sessionCapacity(loadProperties()));
+        logger.info("Running tests with parallelism {} sized from browser session capacity", capacity);
+        return new SessionCapacityConfiguration(capacity);
+    }
+
+    static int sessionCapacity(Properties properties) {
+        int capacity = Boolean.parseBoolean(properties.getProperty("browser.pool.enabled", "true"))
+            ? intProperty(properties, "browser.pool.size", 4)
+            : intProperty(properties, "test.parallel.thread.count", 4);
+
+        if (Boolean.parseBoolean(properties.getProperty("selenium.use.grid", "false"))) {
+            int gridCapacity = intProperty(properties, "selenium.grid.max.sessions", 0);
+            if (gridCapacity <= 0) {
+                gridCapacity = GridSlotScheduler.discoverCapacity(
+                    properties.getProperty("selenium.grid.url", ""),
+                    properties.getProperty("browser.type", "chrome"));
+            }
+            if (gridCapacity > 0) {
+                capacity = Math.min(capacity, gridCapacity);
+            }
+        }
+        return Math.max(1, capacity);
+    }
+
+    private static Properties loadProperties() {
+        Properties properties = new Properties();
+        try (InputStream in = SessionCapacityParallelStrategy.class.getClassLoader()
+                .getResourceAsStream("application.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read application.properties: {}", e.getMessage());
+        }
+        properties.putAll(System.getProperties());
+        return properties;
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        try {
+            return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sahibinden.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionCapacityParallelStrategyTest {
+
+    @Test
+    public void usesPoolSizeWhenPoolIsEnabled() {
+        Properties properties = new Properties();
+        properties.setProperty("browser.pool.size", "6");
+        properties.setProperty("test.parallel.thread.count", "2");
+
+        assertEquals(6, SessionCapacityParallelStrategy.sessionCapacity(properties));
+    }
+
+    @Test
+    public void fallsBackToThreadCountWithoutPool() {
+        Properties properties = new Properties();
+        properties.setProperty("browser.pool.enabled", "false");
+        properties.setProperty("test.parallel.thread.count", "3");
+
+        assertEquals(3, SessionCapacityParallelStrategy.sessionCapacity(properties));
+    }
+
+    @Test
+    public void isCappedByGridSlots() {
+        Properties properties = new Properties();
+        properties.setProperty("browser.pool.size", "8");
+        properties.setProperty("selenium.use.grid", "true");
+        properties.setProperty("selenium.grid.max.sessions", "5");
+
+        assertEquals(5, SessionCapacityParallelStrategy.sessionCapacity(properties));
+    }
+}
@@ -0,0 +1,80 @@
+package com.sahibinden.base;
+
+import com.sahibinden.util.FailureKind;
+import com.sahibinden.util.StepRetry;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Retries a whole test on a fresh browser session when it failed because its session died. Transient
+ * step failures are already retried in place by {@link StepRetry}, and ordinary assertion failures
+ * are never retried.
+ * <p>
+ * The retry re-invokes the test method directly from the exception handler, outside JUnit's invocation
+ * machinery. Only methods without parameters are retried; others fail on the first session failure.
+ * Between attempts {@link BaseTest#recoverSession()} stands in for the lifecycle: it discards the dead
+ * session and runs {@code setUp} again. Other extensions' callbacks and {@code @AfterEach} methods are
+ * not run per attempt, only once after the last one, so {@link TestLogExtension} reports all attempts
+ * as one test.
+ */
+public class SessionRetryExtension implements BeforeEachCallback, TestExecutionExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(SessionRetryExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        StepRetry.clearSessionFailure();
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable failure) throws Throwable {
+        Object instance = context.getRequiredTestInstance();
+        if (!(instance instanceof BaseTest)) {
+            throw failure;
+        }
+        BaseTest test = (BaseTest) instance;
+        Method method = context.getRequiredTestMethod();
+        String name = context.getRequiredTestClass().getSimpleName() + "." + context.getDisplayName();
+        if (method.getParameterCount() > 0) {
+            logger.debug("{} takes parameters and cannot be retried", name);
+            throw failure;
+        }
+
+        Throwable current = failure;
+        for (int attempt = 1; attempt <= test.testRetryCount; attempt++) {
+            Optional<Throwable> sessionFailure = sessionFailure(current);
+            if (sessionFailure.isEmpty()) {
+                throw current;
+            }
+            StepRetry.recordTestRetry();
+            logger.warn("Session failure in {} ({}), retrying test on a fresh session ({}/{})",
+                name, sessionFailure.get().getMessage(), attempt, test.testRetryCount);
+            try {
+                test.recoverSession();
+                method.setAccessible(true);
+                method.invoke(instance);
+                logger.info("{} passed after {} test retries", name, attempt);
+                return;
+            } catch (InvocationTargetException e) {
+                current = e.getCause();
+            } catch (Exception e) {
+                current = e;
+            }
+        }
+        throw current;
+    }
+
+    private static Optional<Throwable> sessionFailure(Throwable failure) {
+        Optional<Throwable> recorded = StepRetry.takeSessionFailure();
+        if (recorded.isPresent()) {
+            return recorded;
+        }
+        return FailureKind.classify(failure) == FailureKind.SESSION ? Optional.of(failure) : Optional.empty();
+    }
+}
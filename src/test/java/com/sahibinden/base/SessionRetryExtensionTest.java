@@ -0,0 +1,78 @@
+package com.sahibinden.base;
+
+import com.sahibinden.util.StepRetry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.NoSuchSessionException;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SessionRetryExtensionTest {
+
+    private final SessionRetryExtension extension = new SessionRetryExtension();
+    private final RecordingTest test = new RecordingTest();
+
+    @Test
+    public void doesNotRetryMethodsWithParameters() throws Exception {
+        NoSuchSessionException failure = new NoSuchSessionException("invalid session id");
+
+        Throwable thrown = assertThrows(Throwable.class, () -> extension.handleTestExecutionException(
+            context(RecordingTest.class.getDeclaredMethod("withParameter", String.class)), failure));
+
+        assertSame(failure, thrown);
+        assertEquals(0, test.recoveries);
+    }
+
+    @Test
+    public void doesNotRetryNonSessionFailures() throws Exception {
+        StepRetry.clearSessionFailure();
+        AssertionError failure = new AssertionError("price mismatch");
+
+        Throwable thrown = assertThrows(Throwable.class, () -> extension.handleTestExecutionException(
+            context(RecordingTest.class.getDeclaredMethod("withoutParameters")), failure));
+
+        assertSame(failure, thrown);
+        assertEquals(0, test.recoveries);
+        assertEquals(0, test.runs);
+    }
+
+    @Test
+    public void retriesSessionFailureOnRecoveredSession() throws Throwable {
+        extension.handleTestExecutionException(context(RecordingTest.class.getDeclaredMethod("withoutParameters")),
+            new NoSuchSessionException("invalid session id"));
+
+        assertEquals(1, test.recoveries);
+        assertEquals(1, test.runs);
+    }
+
+    private ExtensionContext context(Method method) {
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getRequiredTestInstance()).thenReturn(test);
+        when(context.getRequiredTestMethod()).thenReturn(method);
+        when(context.getRequiredTestClass()).thenAnswer(invocation -> RecordingTest.class);
+        when(context.getDisplayName()).thenReturn(method.getName());
+        return context;
+    }
+
+    static class RecordingTest extends BaseTest {
+        int recoveries;
+        int runs;
+
+        @Override
+        void recoverSession() {
+            recoveries++;
+        }
+
+        void withoutParameters() {
+            runs++;
+        }
+
+        void withParameter(String value) {
+            runs++;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sahibinden.base;
+
+import com.sahibinden.logging.TestLogBuffer;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Opens a {@link TestLogBuffer} around each test. A failed test gets its full log replayed; a passing
+ * test is reduced to one summary line.
+ */
+public class TestLogExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(TestLogExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestLogExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        String testId = context.getUniqueId();
+        MDC.put(TestLogBuffer.MDC_KEY, testId);
+        TestLogBuffer.open(testId);
+        context.getStore(NAMESPACE).put("start", System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        String testId = context.getUniqueId();
+        MDC.remove(TestLogBuffer.MDC_KEY);
+        long start = context.getStore(NAMESPACE).getOrDefault("start", Long.class, System.nanoTime());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        String name = context.getRequiredTestClass().getSimpleName() + "." + context.getDisplayName();
+
+        if (context.getExecutionException().isPresent()) {
+            logger.error("FAILED {} in {} ms, replaying test log", name, elapsedMillis);
+            TestLogBuffer.Summary summary = TestLogBuffer.flush(testId);
+            logger.error("End of log for {} ({})", name, summary);
+        } else {
+            TestLogBuffer.Summary summary = TestLogBuffer.discard(testId);
+            logger.info("PASSED {} in {} ms ({})", name, elapsedMillis, summary);
+        }
+    }
+}
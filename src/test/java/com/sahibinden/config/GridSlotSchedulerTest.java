@@ -0,0 +1,86 @@
+package com.sahibinden.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridSlotSchedulerTest {
+
+    @Test
+    public void admitsImmediatelyWhileSlotsAreFree() {
+        GridSlotScheduler scheduler = new GridSlotScheduler(2);
+
+        scheduler.acquire("YepyTest", Duration.ofSeconds(1));
+        scheduler.acquire("YepyTest", Duration.ofSeconds(1));
+
+        assertEquals(2, scheduler.getInUse());
+        assertEquals(0, scheduler.getQueueWaitStats().get("YepyTest").getQueued());
+    }
+
+    @Test
+    public void queuedOwnersAreAdmittedRoundRobin() throws Exception {
+        GridSlotScheduler scheduler = new GridSlotScheduler(1);
+        scheduler.acquire("holder", Duration.ofSeconds(1));
+
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        Thread first = waiter(scheduler, "YepyTest", "YepyTest-1", admitted);
+        awaitQueued(scheduler, 1);
+        Thread second = waiter(scheduler, "YepyTest", "YepyTest-2", admitted);
+        awaitQueued(scheduler, 2);
+        Thread third = waiter(scheduler, "YepyResponsiveTest", "YepyResponsiveTest-1", admitted);
+        awaitQueued(scheduler, 3);
+
+        for (int i = 0; i < 3; i++) {
+            int expected = i + 1;
+            scheduler.release();
+            awaitAdmitted(admitted, expected);
+        }
+        for (Thread thread : List.of(first, second, third)) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertEquals(List.of("YepyTest-1", "YepyResponsiveTest-1", "YepyTest-2"), admitted);
+        assertEquals(2, scheduler.getQueueWaitStats().get("YepyTest").getQueued());
+    }
+
+    @Test
+    public void waiterTimesOutWithoutTakingASlot() {
+        GridSlotScheduler scheduler = new GridSlotScheduler(1);
+        scheduler.acquire("holder", Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> scheduler.acquire("YepyTest", Duration.ofMillis(50)));
+        assertEquals(0, scheduler.getQueuedCount());
+        assertEquals(1, scheduler.getInUse());
+    }
+
+    private Thread waiter(GridSlotScheduler scheduler, String owner, String name, List<String> admitted) {
+        Thread thread = new Thread(() -> {
+            scheduler.acquire(owner, Duration.ofSeconds(5));
+            admitted.add(name);
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void awaitQueued(GridSlotScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getQueuedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, scheduler.getQueuedCount());
+    }
+
+    private void awaitAdmitted(List<String> admitted, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admitted.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, admitted.size());
+    }
+}
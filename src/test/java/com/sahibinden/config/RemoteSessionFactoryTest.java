@@ -0,0 +1,133 @@
+package com.sahibinden.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class RemoteSessionFactoryTest {
+
+    private HttpServer hub;
+    private String hubUrl;
+    private final AtomicInteger sessionRequests = new AtomicInteger();
+    private volatile String hubMessage = "no free slots";
+
+    @BeforeEach
+    void startFakeHub() throws IOException {
+        hub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        hub.createContext("/", exchange -> {
+            sessionRequests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = ("{\"value\":{\"error\":\"session not created\",\"message\":\"" + hubMessage + "\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(500, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        hub.start();
+        hubUrl = "http://127.0.0.1:" + hub.getAddress().getPort() + "/wd/hub";
+    }
+
+    @AfterEach
+    void stopFakeHub() {
+        hub.stop(0);
+    }
+
+    private RemoteSessionFactory factory(RemoteSessionFactory.FallbackPolicy policy, int breakerThreshold) {
+        return new RemoteSessionFactory(3, Duration.ofMillis(1), Duration.ofMillis(5),
+            breakerThreshold, Duration.ofMinutes(1), policy, Duration.ofMillis(200), 1);
+    }
+
+    @Test
+    public void failPolicyRetriesWithBackoffThenThrows() {
+        RemoteSessionFactory factory = factory(RemoteSessionFactory.FallbackPolicy.FAIL, 10);
+
+        assertThrows(SessionNotCreatedException.class,
+            () -> factory.create(hubUrl, new ChromeOptions(), () -> fail("Local fallback must not be used")));
+
+        assertEquals(3, sessionRequests.get(), "Every attempt should reach the hub");
+        assertEquals(3, factory.getRemoteFailedHistogram().getCount());
+    }
+
+    @Test
+    public void openCircuitFailsFastWithoutCallingTheHub() {
+        RemoteSessionFactory factory = factory(RemoteSessionFactory.FallbackPolicy.FAIL, 2);
+
+        assertThrows(SessionNotCreatedException.class, () -> factory.create(hubUrl, new ChromeOptions(), null));
+        int requestsBeforeOpen = sessionRequests.get();
+        assertEquals(CircuitBreaker.State.OPEN, factory.getCircuitState(hubUrl));
+
+        assertThrows(SessionNotCreatedException.class, () -> factory.create(hubUrl, new ChromeOptions(), null));
+        assertEquals(requestsBeforeOpen, sessionRequests.get(), "Open circuit should not send new requests");
+    }
+
+    @Test
+    public void localPolicyFallsBackUpToTheCap() {
+        RemoteSessionFactory factory = factory(RemoteSessionFactory.FallbackPolicy.LOCAL, 2);
+        WebDriver local = mock(WebDriver.class);
+
+        WebDriver driver = factory.create(hubUrl, new ChromeOptions(), () -> local);
+        assertSame(local, driver);
+        assertTrue(factory.isLocalFallback(driver));
+
+        assertThrows(SessionNotCreatedException.class,
+            () -> factory.create(hubUrl, new ChromeOptions(), () -> mock(WebDriver.class)));
+
+        factory.onQuit(driver);
+        assertNotNull(factory.create(hubUrl, new ChromeOptions(), () -> mock(WebDriver.class)));
+    }
+
+    @Test
+    public void waitPolicyRetriesAfterCircuitReopensThenGivesUp() {
+        RemoteSessionFactory factory = new RemoteSessionFactory(1, Duration.ofMillis(1), Duration.ofMillis(5),
+            1, Duration.ofMillis(100), RemoteSessionFactory.FallbackPolicy.WAIT, Duration.ofMillis(1500), 1);
+        // The first session request initialises the HTTP client, which can take most of the wait window.
+        assertThrows(SessionNotCreatedException.class,
+            () -> factory(RemoteSessionFactory.FallbackPolicy.FAIL, 10).create(hubUrl, new ChromeOptions(), null));
+        sessionRequests.set(0);
+
+        long start = System.nanoTime();
+        assertThrows(SessionNotCreatedException.class, () -> factory.create(hubUrl, new ChromeOptions(), null));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 1500);
+        assertTrue(sessionRequests.get() > 1, "Wait policy should send a trial request once the circuit half-opens");
+    }
+
+    @Test
+    public void rejectedCapabilitiesFailAtOnceWithoutTrippingTheBreaker() {
+        hubMessage = "Could not start a new session. Unable to find provider for session: browserVersion 12";
+        RemoteSessionFactory factory = factory(RemoteSessionFactory.FallbackPolicy.LOCAL, 1);
+
+        assertThrows(SessionNotCreatedException.class,
+            () -> factory.create(hubUrl, new ChromeOptions(), () -> fail("Local fallback must not be used")));
+
+        assertEquals(1, sessionRequests.get(), "A rejected request must not be retried");
+        assertEquals(CircuitBreaker.State.CLOSED, factory.getCircuitState(hubUrl));
+    }
+
+    @Test
+    public void classifiesTransportAndCapacityFailuresAsTransient() {
+        assertTrue(RemoteSessionFactory.isTransient(new SessionNotCreatedException("New session request timed out")));
+        assertTrue(RemoteSessionFactory.isTransient(
+            new SessionNotCreatedException("Could not start a new session", new ConnectException("refused"))));
+        assertFalse(RemoteSessionFactory.isTransient(
+            new SessionNotCreatedException("session not created: This version of ChromeDriver only supports Chrome version 134")));
+        assertFalse(RemoteSessionFactory.isTransient(new IllegalArgumentException("bad capability")));
+    }
+}
@@ -0,0 +1,140 @@
+package com.sahibinden.config;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WebDriverPoolTest {
+
+    private final List<WebDriver> launched = new ArrayList<>();
+    private final List<WebDriver> quit = new ArrayList<>();
+
+    private WebDriverPool pool(int size, int maxUses) {
+        return new WebDriverPool("test", () -> {
+            WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+            launched.add(driver);
+            return driver;
+        }, quit::add, size, maxUses, Duration.ofMinutes(30), EnumSet.of(WebDriverPool.ResetStep.BLANK_PAGE));
+    }
+
+    private WebDriverPool pool(String name, SessionBudget budget) {
+        return new WebDriverPool(name, () -> {
+            WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+            launched.add(driver);
+            return driver;
+        }, quit::add, 1, 10, Duration.ofMinutes(30), EnumSet.of(WebDriverPool.ResetStep.BLANK_PAGE), budget);
+    }
+
+    @Test
+    public void releasedSessionIsReusedAfterReset() {
+        WebDriverPool pool = pool(2, 10);
+
+        WebDriver first = pool.lease(Duration.ofSeconds(1));
+        pool.release(first);
+        WebDriver second = pool.lease(Duration.ofSeconds(1));
+
+        assertSame(first, second, "Released session should be handed out again");
+        assertEquals(1, launched.size());
+        verify(first).get("about:blank");
+    }
+
+    @Test
+    public void sessionIsEvictedAfterMaxUses() {
+        WebDriverPool pool = pool(1, 2);
+
+        WebDriver driver = pool.lease(Duration.ofSeconds(1));
+        pool.release(driver);
+        pool.release(pool.lease(Duration.ofSeconds(1)));
+
+        assertEquals(List.of(driver), quit, "Session should be quit once it reaches max uses");
+        assertNotSame(driver, pool.lease(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    public void unhealthySessionIsReplacedOnLease() {
+        WebDriverPool pool = pool(1, 10);
+
+        WebDriver driver = pool.lease(Duration.ofSeconds(1));
+        pool.release(driver);
+        when(driver.getWindowHandle()).thenThrow(new NoSuchSessionException("gone"));
+
+        WebDriver replacement = pool.lease(Duration.ofSeconds(1));
+
+        assertNotSame(driver, replacement);
+        assertTrue(quit.contains(driver));
+    }
+
+    @Test
+    public void leaseTimesOutWhenPoolIsExhausted() {
+        WebDriverPool pool = pool(1, 10);
+        pool.lease(Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> pool.lease(Duration.ofMillis(50)));
+        assertEquals(1, launched.size());
+    }
+
+    @Test
+    public void prewarmedSessionsAreLeasedWithoutNewLaunch() {
+        WebDriverPool pool = pool(2, 10);
+
+        pool.prewarm(3, Runnable::run).join();
+        WebDriver first = pool.lease(Duration.ofSeconds(1));
+        WebDriver second = pool.lease(Duration.ofSeconds(1));
+
+        assertEquals(2, launched.size(), "Prewarm should not exceed the pool size");
+        assertNotSame(first, second);
+        assertTrue(launched.containsAll(List.of(first, second)));
+    }
+
+    @Test
+    public void sharedBudgetClosesIdleSessionOfOtherPool() {
+        SessionBudget budget = new SessionBudget(1);
+        WebDriverPool desktop = pool("desktop", budget);
+        WebDriverPool mobile = pool("mobile", budget);
+
+        WebDriver idle = desktop.lease(Duration.ofSeconds(1));
+        desktop.release(idle);
+        WebDriver mobileDriver = mobile.lease(Duration.ofSeconds(1));
+
+        assertNotSame(idle, mobileDriver);
+        assertEquals(List.of(idle), quit, "Idle desktop session should be quit to free the browser slot");
+        assertEquals(0, desktop.getIdleCount());
+        assertEquals(1, budget.getLiveCount());
+    }
+
+    @Test
+    public void sharedBudgetBoundsLeasedSessionsAcrossPools() {
+        SessionBudget budget = new SessionBudget(1);
+        WebDriverPool desktop = pool("desktop", budget);
+        WebDriverPool mobile = pool("mobile", budget);
+
+        WebDriver leased = desktop.lease(Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> mobile.lease(Duration.ofMillis(50)));
+        assertEquals(1, launched.size());
+
+        desktop.evict(leased);
+        assertNotNull(mobile.lease(Duration.ofSeconds(1)));
+        assertEquals(1, budget.getLiveCount());
+    }
+
+    @Test
+    public void shutdownQuitsIdleAndLeasedSessions() {
+        WebDriverPool pool = pool(2, 10);
+        WebDriver idle = pool.lease(Duration.ofSeconds(1));
+        WebDriver leased = pool.lease(Duration.ofSeconds(1));
+        pool.release(idle);
+
+        pool.shutdown();
+
+        assertTrue(quit.containsAll(List.of(idle, leased)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkIdleTrackerTest {
+
+    private final NetworkIdleTracker tracker = new NetworkIdleTracker(
+        List.of("google-analytics.com"), NetworkIdleTracker.DEFAULT_RESOURCE_TYPES, Duration.ofSeconds(30));
+
+    @Test
+    public void ignoresAnalyticsHostsAndUntrackedResourceTypes() {
+        tracker.onRequestStarted("1", "https://www.google-analytics.com/collect", "XHR");
+        tracker.onRequestStarted("2", "https://www.sahibinden.com/logo.png", "Image");
+        tracker.onRequestStarted("3", "https://www.sahibinden.com/ajax/search", "XHR");
+
+        assertEquals(1, tracker.getInFlightCount());
+        assertEquals(2, tracker.getIgnoredCount());
+    }
+
+    @Test
+    public void waitsUntilRelevantRequestsFinish() throws Exception {
+        tracker.onRequestStarted("1", "https://www.sahibinden.com/ajax/search", "XHR");
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)
+            .execute(() -> tracker.onRequestFinished("1"));
+
+        long start = System.nanoTime();
+        assertTrue(tracker.awaitIdle(Duration.ofMillis(50), Duration.ofSeconds(5)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 200);
+    }
+
+    @Test
+    public void filtersRequestsBySite() {
+        tracker.onRequestStarted("1", "https://cdn.example.net/widget.js", "Fetch");
+
+        assertFalse(tracker.awaitIdle(Duration.ZERO, Duration.ofMillis(100)));
+        assertTrue(tracker.awaitIdle(NetworkIdleTracker.sameSiteAs("https://www.sahibinden.com/yepy"),
+            Duration.ZERO, Duration.ofMillis(100)));
+    }
+
+    @Test
+    public void treatsLongRunningRequestsAsStale() {
+        NetworkIdleTracker shortLived = new NetworkIdleTracker(
+            List.of(), NetworkIdleTracker.DEFAULT_RESOURCE_TYPES, Duration.ofMillis(100));
+        shortLived.onRequestStarted("1", "https://www.sahibinden.com/poll", "XHR");
+
+        assertTrue(shortLived.awaitIdle(Duration.ZERO, Duration.ofSeconds(2)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestKeyTest {
+
+    private static final Set<String> IGNORED = Set.of("_", "cb");
+
+    @Test
+    public void normalisesEquivalentUrlsToSameKey() {
+        String key = RequestKey.of("get", "HTTPS://WWW.Sahibinden.com:443/yepy/yenilenmis-telefonlar?sorting=price_asc&price_max=10000#top", null, IGNORED);
+
+        assertEquals("GET https://www.sahibinden.com/yepy/yenilenmis-telefonlar?price_max=10000&sorting=price_asc", key);
+        assertEquals(key, RequestKey.of("GET", "https://www.sahibinden.com/yepy/yenilenmis-telefonlar?price_max=10000&_=1712&sorting=price_asc", null, IGNORED));
+    }
+
+    @Test
+    public void keepsNonDefaultPortAndRootPath() {
+        assertEquals("GET http://localhost:18080/", RequestKey.of("GET", "http://localhost:18080", null, IGNORED));
+    }
+
+    @Test
+    public void distinguishesPostBodies() {
+        String first = RequestKey.of("POST", "https://www.sahibinden.com/ajax/search", "{\"page\":1}", IGNORED);
+        String second = RequestKey.of("POST", "https://www.sahibinden.com/ajax/search", "{\"page\":2}", IGNORED);
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("POST https://www.sahibinden.com/ajax/search #"));
+        assertEquals(first, RequestKey.of("POST", "https://www.sahibinden.com/ajax/search", "{\"page\":1}", IGNORED));
+    }
+}
@@ -0,0 +1,44 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceBlockerTest {
+
+    @Test
+    public void estimatesSavedBytesFromObservedAverages() {
+        ResourceBlocker blocker = new ResourceBlocker();
+        blocker.onRequestStarted("1", "Image");
+        blocker.onRequestStarted("2", "Image");
+        blocker.onLoadingFinished("1", 10_000);
+        blocker.onLoadingFinished("2", 30_000);
+
+        blocker.onLoadingFailed("3", "Image", true);
+        blocker.onLoadingFailed("4", "Image", true);
+        blocker.onLoadingFailed("5", "Script", false);
+
+        ResourceBlocker.Stats stats = blocker.getStats();
+        assertEquals(2, stats.getBlockedRequests());
+        assertEquals(40_000, stats.getEstimatedBytesSaved());
+        assertEquals(2L, stats.getBlockedByType().get("Image"));
+    }
+
+    @Test
+    public void fallsBackToTypicalSizeAndResetsPerSession() {
+        ResourceBlocker blocker = new ResourceBlocker();
+        blocker.onLoadingFailed("1", "Font", true);
+        assertTrue(blocker.getStats().getEstimatedBytesSaved() > 0);
+
+        blocker.resetStats();
+        assertEquals(0, blocker.getStats().getBlockedRequests());
+    }
+
+    @Test
+    public void parsesProfileNames() {
+        assertEquals(BlockingProfile.VISUAL, BlockingProfile.parse(" visual "));
+        assertEquals(BlockingProfile.FULL, BlockingProfile.parse(""));
+        assertTrue(BlockingProfile.FULL.getPatterns().isEmpty());
+        assertTrue(BlockingProfile.FUNCTIONAL.getPatterns().containsAll(BlockingProfile.VISUAL.getPatterns()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.devtools.v134.network.model.PostDataEntry;
+import org.openqa.selenium.devtools.v134.network.model.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ResponseReplayerTest {
+
+    @Test
+    public void joinsDecodedPostDataEntries() {
+        Request request = request(Optional.of(List.of(entry("{\"page\":"), entry("1}"), new PostDataEntry(Optional.empty()))));
+
+        assertEquals("{\"page\":1}", ResponseReplayer.postData(request));
+    }
+
+    @Test
+    public void requestWithoutBodyHasNoPostData() {
+        assertNull(ResponseReplayer.postData(request(Optional.empty())));
+        assertNull(ResponseReplayer.postData(request(Optional.of(List.of()))));
+    }
+
+    private static Request request(Optional<List<PostDataEntry>> entries) {
+        Request request = mock(Request.class);
+        when(request.getPostDataEntries()).thenReturn(entries);
+        return request;
+    }
+
+    private static PostDataEntry entry(String text) {
+        return new PostDataEntry(Optional.of(Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8))));
+    }
+}
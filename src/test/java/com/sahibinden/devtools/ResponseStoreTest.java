@@ -0,0 +1,74 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static ResponseStore.Entry entry(int status, String body) {
+        return new ResponseStore.Entry(status,
+            List.of(Map.entry("Content-Type", "text/html"), Map.entry("Set-Cookie", "a=1"), Map.entry("Set-Cookie", "b=2")),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void readsBackEntriesAfterReopening() {
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.put("GET https://www.sahibinden.com/", entry(200, "home"));
+            store.put("GET https://www.sahibinden.com/yepy", entry(200, "yepy"));
+            assertEquals("home", new String(store.get("GET https://www.sahibinden.com/").orElseThrow().getBody(), StandardCharsets.UTF_8));
+        }
+
+        try (ResponseStore store = new ResponseStore(directory)) {
+            ResponseStore.Entry yepy = store.get("GET https://www.sahibinden.com/yepy").orElseThrow();
+            assertEquals(2, store.size());
+            assertEquals(200, yepy.getStatus());
+            assertEquals(3, yepy.getHeaders().size());
+            assertEquals("b=2", yepy.getHeaders().get(2).getValue());
+            assertEquals("yepy", new String(yepy.getBody(), StandardCharsets.UTF_8));
+            assertTrue(store.get("GET https://www.sahibinden.com/missing").isEmpty());
+        }
+    }
+
+    @Test
+    public void laterRecordForSameKeyWins() {
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.put("GET https://www.sahibinden.com/", entry(200, "first"));
+            store.put("GET https://www.sahibinden.com/", entry(304, "second"));
+        }
+
+        try (ResponseStore store = new ResponseStore(directory)) {
+            assertEquals(1, store.size());
+            assertEquals(304, store.get("GET https://www.sahibinden.com/").orElseThrow().getStatus());
+        }
+    }
+
+    @Test
+    public void dropsTornRecordAtTail() throws Exception {
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.put("GET https://www.sahibinden.com/", entry(200, "home"));
+        }
+        Path data = directory.resolve("responses.dat");
+        long intact = Files.size(data);
+        Files.write(data, new byte[] {0, 0, 0, 40, 'G', 'E', 'T'}, StandardOpenOption.APPEND);
+
+        try (ResponseStore store = new ResponseStore(directory)) {
+            assertEquals(1, store.size());
+            assertEquals(intact, Files.size(data));
+            store.put("GET https://www.sahibinden.com/yepy", entry(200, "yepy"));
+            assertEquals("yepy", new String(store.get("GET https://www.sahibinden.com/yepy").orElseThrow().getBody(), StandardCharsets.UTF_8));
+        }
+    }
+}
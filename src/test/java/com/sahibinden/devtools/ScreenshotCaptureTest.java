@@ -0,0 +1,64 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.DevToolsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ScreenshotCaptureTest {
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @TempDir
+    Path screenshots;
+
+    private final WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(TakesScreenshot.class));
+    private final DevTools devTools = mock(DevTools.class);
+
+    @Test
+    public void fallsBackToWebDriverWhenCdpCaptureFails() throws Exception {
+        when(devTools.send(any())).thenThrow(new DevToolsException("No target with given id found"));
+        when(((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64))
+            .thenReturn(Base64.getEncoder().encodeToString(PNG));
+        ScreenshotCapture capture = capture();
+
+        capture.capture(driver, Optional.of(devTools), "detached");
+        capture.flush();
+
+        assertArrayEquals(PNG, Files.readAllBytes(screenshots.resolve("detached.png")));
+    }
+
+    @Test
+    public void usesCdpCaptureWhenItSucceeds() throws Exception {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+        when(devTools.send(any())).thenReturn(Base64.getEncoder().encodeToString(jpeg));
+        ScreenshotCapture capture = capture();
+        ReflectionTestUtils.setField(capture, "format", "jpeg");
+
+        capture.capture(driver, Optional.of(devTools), "cdp");
+        capture.flush();
+
+        assertArrayEquals(jpeg, Files.readAllBytes(screenshots.resolve("cdp.jpeg")));
+        assertFalse(Files.exists(screenshots.resolve("cdp.png")));
+    }
+
+    private ScreenshotCapture capture() {
+        ScreenshotCapture capture = new ScreenshotCapture();
+        ReflectionTestUtils.setField(capture, "screenshotPath", screenshots.toString());
+        return capture;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sahibinden.devtools;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionSnapshotTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private SessionSnapshot snapshot(Instant capturedAt, Cookie... cookies) {
+        return new SessionSnapshot("https://www.sahibinden.com", capturedAt, List.of(cookies),
+            Map.of("consent", "accepted"), Map.of("tab", "1"));
+    }
+
+    @Test
+    public void survivesJsonRoundTrip() {
+        Cookie consent = new Cookie.Builder("OptanonAlertBoxClosed", "2026-01-01")
+            .domain(".sahibinden.com")
+            .path("/")
+            .expiresOn(Date.from(NOW.plus(Duration.ofDays(365))))
+            .isSecure(true)
+            .sameSite("Lax")
+            .build();
+        Json json = new Json();
+
+        SessionSnapshot restored = SessionSnapshot.fromJson(
+            json.toType(json.toJson(snapshot(NOW, consent).toJson()), Json.MAP_TYPE));
+
+        assertEquals("https://www.sahibinden.com", restored.getOrigin());
+        assertEquals(NOW, restored.getCapturedAt());
+        assertEquals(Map.of("consent", "accepted"), restored.getLocalStorage());
+        assertEquals(Map.of("tab", "1"), restored.getSessionStorage());
+        Cookie cookie = restored.getCookies().get(0);
+        assertEquals(consent.getName(), cookie.getName());
+        assertEquals(".sahibinden.com", cookie.getDomain());
+        assertEquals(consent.getExpiry(), cookie.getExpiry());
+        assertTrue(cookie.isSecure());
+        assertEquals("Lax", cookie.getSameSite());
+    }
+
+    @Test
+    public void isStaleWhenOlderThanMaxAgeOrWithoutCookies() {
+        Cookie session = new Cookie("sid", "abc");
+
+        assertTrue(snapshot(NOW.minus(Duration.ofHours(1)), session).isFresh(Duration.ofHours(12), NOW));
+        assertFalse(snapshot(NOW.minus(Duration.ofHours(13)), session).isFresh(Duration.ofHours(12), NOW));
+        assertFalse(snapshot(NOW).isFresh(Duration.ofHours(12), NOW));
+    }
+
+    @Test
+    public void dropsExpiredCookiesOnRestore() {
+        Cookie expired = new Cookie.Builder("old", "1").expiresOn(Date.from(NOW.minusSeconds(60))).build();
+        Cookie live = new Cookie.Builder("new", "1").expiresOn(Date.from(NOW.plusSeconds(60))).build();
+        Cookie session = new Cookie("sid", "abc");
+
+        List<Cookie> cookies = snapshot(NOW, expired, live, session).getLiveCookies(NOW);
+
+        assertEquals(List.of("new", "sid"), cookies.stream().map(Cookie::getName).toList());
+    }
+}
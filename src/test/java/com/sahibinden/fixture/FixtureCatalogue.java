@@ -0,0 +1,126 @@
+package com.sahibinden.fixture;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Recorded refurbished-phone listings served by {@link FixtureServer}. Filtering and sorting follow
+ * the live listing's query parameters so deep links and the filter widgets land on the same results.
+ */
+public class FixtureCatalogue {
+    private static final Type LISTINGS_TYPE = new TypeToken<List<Map<String, Object>>>() {}.getType();
+
+    public static final class Phone {
+        private final String id;
+        private final String brand;
+        private final String title;
+        private final long price;
+        private final String condition;
+
+        Phone(String id, String brand, String title, long price, String condition) {
+            this.id = id;
+            this.brand = brand;
+            this.title = title;
+            this.price = price;
+            this.condition = condition;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public long getPrice() {
+            return price;
+        }
+
+        public String getCondition() {
+            return condition;
+        }
+    }
+
+    private final List<Phone> phones;
+
+    FixtureCatalogue(List<Phone> phones) {
+        this.phones = List.copyOf(phones);
+    }
+
+    public static FixtureCatalogue load(String resource) {
+        try (InputStream in = FixtureCatalogue.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture catalogue not found: " + resource);
+            }
+            List<Map<String, Object>> values = new Json().toType(
+                new String(in.readAllBytes(), StandardCharsets.UTF_8), LISTINGS_TYPE);
+            List<Phone> phones = new ArrayList<>();
+            for (Map<String, Object> value : values) {
+                phones.add(new Phone(
+                    (String) value.get("id"),
+                    (String) value.get("brand"),
+                    (String) value.get("title"),
+                    ((Number) value.get("price")).longValue(),
+                    (String) value.get("condition")));
+            }
+            return new FixtureCatalogue(phones);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Phone> search(String brand, Long minPrice, Long maxPrice, Collection<String> conditions, String sorting) {
+        List<Phone> results = new ArrayList<>();
+        for (Phone phone : phones) {
+            if (brand != null && !brand.equals(phone.brand)) {
+                continue;
+            }
+            if (minPrice != null && phone.price < minPrice) {
+                continue;
+            }
+            if (maxPrice != null && phone.price > maxPrice) {
+                continue;
+            }
+            if (!conditions.isEmpty() && !conditions.contains(phone.condition)) {
+                continue;
+            }
+            results.add(phone);
+        }
+
+        if ("price_asc".equals(sorting)) {
+            results.sort(Comparator.comparingLong(Phone::getPrice));
+        } else if ("price_desc".equals(sorting)) {
+            results.sort(Comparator.comparingLong(Phone::getPrice).reversed());
+        }
+        return results;
+    }
+
+    public Optional<Phone> find(String id) {
+        return phones.stream().filter(phone -> phone.id.equals(id)).findFirst();
+    }
+
+    public static String formatPrice(long price) {
+        StringBuilder digits = new StringBuilder(Long.toString(price));
+        for (int i = digits.length() - 3; i > 0; i -= 3) {
+            digits.insert(i, '.');
+        }
+        return digits.append(" TL").toString();
+    }
+}
@@ -0,0 +1,300 @@
+package com.sahibinden.fixture;
+
+import com.sahibinden.util.BlockingExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded stand-in for the Yepy pages used by the suite. Serves the recorded home, Yepy, listing and
+ * detail pages from {@code src/test/resources/fixtures}, picking the desktop or mobile variant from the
+ * User-Agent like the live site does, and delays every response by {@code test.fixture.latency} ms.
+ */
+@Component
+@ConditionalOnProperty(name = "test.fixture.enabled", havingValue = "true")
+public class FixtureServer {
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+    private static final String FIXTURE_ROOT = "fixtures/";
+    private static final String LISTING_PATH = "/yepy/yenilenmis-telefonlar";
+    private static final String DETAIL_PATH = "/yepy/ilan/";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final Map<String, String> CONDITION_LABELS = Map.of(
+        "excellent", "Mükemmel",
+        "very_good", "Çok İyi",
+        "fair", "İyi");
+
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final FixtureCatalogue catalogue = FixtureCatalogue.load(FIXTURE_ROOT + "catalogue.json");
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @Value("${test.fixture.port:18080}")
+    private int port = 18080;
+
+    @Value("${test.fixture.latency:0}")
+    private long latencyMillis = 0;
+
+    @Value("${test.fixture.threads:16}")
+    private int threads = 16;
+
+    @Value("${test.fixture.page.size:20}")
+    private int pageSize = 20;
+
+    public FixtureServer() {
+    }
+
+    FixtureServer(int port, long latencyMillis) {
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = BlockingExecutors.newExecutor("fixture-server", threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fixture server listening on {} with {} ms latency", getBaseUrl(), latencyMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            logger.info("Fixture server stopped");
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            String path = exchange.getRequestURI().getPath();
+            String variant = isMobile(exchange.getRequestHeaders().getFirst("User-Agent")) ? "mobile" : "desktop";
+            Map<String, List<String>> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            Map<String, String> values = new HashMap<>();
+            values.put("cookieBanner", hasConsent(exchange) ? "" : template("cookie-banner.html"));
+
+            String page;
+            if (path.equals("/") || path.isEmpty()) {
+                page = render(template(variant + "/home.html"), values);
+            } else if (path.equals("/yepy") || path.equals("/yepy/")) {
+                page = render(template(variant + "/yepy.html"), values);
+            } else if (path.equals(LISTING_PATH) || path.startsWith(LISTING_PATH + "/")) {
+                page = renderListing(variant, path, params, values);
+            } else if (path.startsWith(DETAIL_PATH)) {
+                page = renderDetail(variant, path.substring(DETAIL_PATH.length()), values);
+            } else {
+                page = null;
+            }
+
+            if (page == null) {
+                respond(exchange, 404, "Not found");
+            } else {
+                respond(exchange, 200, page);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Fixture server failed to serve {}: {}", exchange.getRequestURI(), e.getMessage());
+            respond(exchange, 500, "Fixture error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String renderListing(String variant, String path, Map<String, List<String>> params, Map<String, String> values) {
+        String remainder = path.substring(LISTING_PATH.length()).replaceAll("^/+|/+$", "");
+        if (remainder.contains("/")) {
+            return null;
+        }
+        String brand = remainder.isEmpty() ? null : remainder.toLowerCase(Locale.ROOT);
+        Long minPrice = parsePrice(first(params, "price_min"));
+        Long maxPrice = parsePrice(first(params, "price_max"));
+        List<String> conditions = params.getOrDefault("condition", List.of());
+        String sorting = first(params, "sorting");
+
+        StringBuilder items = new StringBuilder();
+        List<FixtureCatalogue.Phone> phones = catalogue.search(brand, minPrice, maxPrice, conditions, sorting);
+        int size = intParam(params, "pagingSize", pageSize);
+        int offset = Math.min(intParam(params, "pagingOffset", 0), phones.size());
+        int end = Math.min(offset + size, phones.size());
+        for (FixtureCatalogue.Phone phone : phones.subList(offset, end)) {
+            items.append(render(template(variant + "/listing-item.html"), Map.of(
+                "id", phone.getId(),
+                "title", phone.getTitle(),
+                "price", FixtureCatalogue.formatPrice(phone.getPrice()))));
+        }
+
+        StringBuilder selected = new StringBuilder();
+        for (String condition : conditions) {
+            Map<String, List<String>> without = new LinkedHashMap<>(params);
+            List<String> remaining = new ArrayList<>(conditions);
+            remaining.remove(condition);
+            without.put("condition", remaining);
+            selected.append(render(template(variant + "/selected-condition.html"), Map.of(
+                "label", CONDITION_LABELS.getOrDefault(condition, condition),
+                "removeUrl", urlOf(path, without))));
+        }
+
+        values.put("heading", brand == null ? "Yenilenmiş Telefonlar" : "Yenilenmiş " + capitalize(brand) + " Telefonlar");
+        values.put("path", path);
+        values.put("sorting", sorting == null ? "" : sorting);
+        values.put("priceMin", minPrice == null ? "" : minPrice.toString());
+        values.put("priceMax", maxPrice == null ? "" : maxPrice.toString());
+        for (String condition : CONDITION_LABELS.keySet()) {
+            values.put(condition + "Checked", conditions.contains(condition) ? "checked" : "");
+        }
+        values.put("selectedConditions", selected.toString());
+        values.put("sortAscUrl", urlOf(path, withParam(params, "sorting", "price_asc")));
+        values.put("sortDescUrl", urlOf(path, withParam(params, "sorting", "price_desc")));
+        values.put("count", Integer.toString(phones.size()));
+        values.put("items", items.toString());
+        values.put("pagination", end < phones.size()
+            ? render(template(variant + "/pagination.html"), Map.of("nextUrl", urlOf(path, withParam(params, "pagingOffset", Integer.toString(end)))))
+            : "");
+        return render(template(variant + "/listing.html"), values);
+    }
+
+    private String renderDetail(String variant, String id, Map<String, String> values) {
+        Optional<FixtureCatalogue.Phone> phone = catalogue.find(id);
+        if (phone.isEmpty()) {
+            return null;
+        }
+        values.put("title", phone.get().getTitle());
+        values.put("price", FixtureCatalogue.formatPrice(phone.get().getPrice()));
+        values.put("conditionLabel", CONDITION_LABELS.getOrDefault(phone.get().getCondition(), ""));
+        return render(template(variant + "/detail.html"), values);
+    }
+
+    static boolean isMobile(String userAgent) {
+        return userAgent != null && (userAgent.contains("Mobile") || userAgent.contains("iPhone") || userAgent.contains("Android"));
+    }
+
+    private static boolean hasConsent(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        return cookies != null && cookies.stream().anyMatch(cookie -> cookie.contains("OptanonAlertBoxClosed="));
+    }
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(FIXTURE_ROOT + key)) {
+                if (in == null) {
+                    throw new IllegalStateException("Fixture not found: " + key);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static String render(String template, Map<String, String> values) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(out, Matcher.quoteReplacement(values.getOrDefault(matcher.group(1), "")));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    static Map<String, List<String>> parseQuery(String rawQuery) {
+        Map<String, List<String>> params = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            if (!value.isEmpty()) {
+                params.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+            }
+        }
+        return params;
+    }
+
+    private static Map<String, List<String>> withParam(Map<String, List<String>> params, String name, String value) {
+        Map<String, List<String>> copy = new LinkedHashMap<>(params);
+        copy.put(name, List.of(value));
+        return copy;
+    }
+
+    private static String urlOf(String path, Map<String, List<String>> params) {
+        List<String> pairs = new ArrayList<>();
+        params.forEach((name, values) -> values.forEach(value ->
+            pairs.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8))));
+        return pairs.isEmpty() ? path : path + "?" + String.join("&", pairs);
+    }
+
+    private static String first(Map<String, List<String>> params, String name) {
+        List<String> values = params.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static int intParam(Map<String, List<String>> params, String name, int defaultValue) {
+        String value = first(params, name);
+        try {
+            return value == null ? defaultValue : Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Long parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = value.replaceAll("[^0-9]", "");
+        return digits.isEmpty() ? null : Long.parseLong(digits);
+    }
+
+    private static String capitalize(String value) {
+        return value.substring(0, 1).toUpperCase(Locale.ROOT) + value.substring(1);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sahibinden.fixture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixtureServerTest {
+    private static final String DESKTOP_AGENT = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 Chrome/134.0 Safari/537.36";
+    private static final String MOBILE_AGENT = "Mozilla/5.0 (iPhone; CPU iPhone OS 13_2_3 like Mac OS X) Mobile/15E148 Safari/604.1";
+
+    private static FixtureServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new FixtureServer(0, 0);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    private HttpResponse<String> get(String path, String userAgent) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + path))
+            .header("User-Agent", userAgent)
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void servesVariantMatchingUserAgent() throws Exception {
+        String desktop = get("/", DESKTOP_AGENT).body();
+        String mobile = get("/", MOBILE_AGENT).body();
+
+        assertTrue(desktop.contains("id=\"yepy-link-primary\""));
+        assertTrue(mobile.contains("sui-navbar__responsive-menu-toggle"));
+        assertTrue(desktop.contains("onetrust-accept-btn-handler"));
+    }
+
+    @Test
+    public void filtersAndSortsListingFromQuery() throws Exception {
+        String listing = get("/yepy/yenilenmis-telefonlar/apple?price_max=16000&sorting=price_desc", DESKTOP_AGENT).body();
+
+        int iphone12 = listing.indexOf("Apple iPhone 12 64 GB");
+        int iphone11 = listing.indexOf("Apple iPhone 11 64 GB");
+        assertTrue(iphone12 > 0 && iphone11 > iphone12, "Expected price-descending order");
+        assertTrue(listing.contains("15.750 TL"));
+        assertFalse(listing.contains("Samsung Galaxy"));
+        assertFalse(listing.contains("Apple iPhone 13"));
+    }
+
+    @Test
+    public void paginatesListingWithNextLink() throws Exception {
+        String first = get("/yepy/yenilenmis-telefonlar?sorting=price_asc&pagingSize=5", DESKTOP_AGENT).body();
+        String last = get("/yepy/yenilenmis-telefonlar?sorting=price_asc&pagingSize=5&pagingOffset=10", DESKTOP_AGENT).body();
+
+        assertEquals(5, first.split("refurbishment-content-box").length - 1);
+        assertTrue(first.contains("href=\"/yepy/yenilenmis-telefonlar?sorting=price_asc&pagingSize=5&pagingOffset=5\""));
+        assertEquals(2, last.split("refurbishment-content-box").length - 1);
+        assertFalse(last.contains("prevNextBut"));
+    }
+
+    @Test
+    public void returnsNotFoundForUnknownPages() throws Exception {
+        assertEquals(404, get("/yepy/ilan/9999", DESKTOP_AGENT).statusCode());
+        assertEquals(404, get("/emlak", DESKTOP_AGENT).statusCode());
+        assertEquals(200, get("/yepy/ilan/1001", MOBILE_AGENT).statusCode());
+    }
+}
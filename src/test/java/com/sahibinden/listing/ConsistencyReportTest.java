@@ -0,0 +1,39 @@
+package com.sahibinden.listing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistencyReportTest {
+
+    @Test
+    public void acceptsMatchingPriceAndContainedTitle() {
+        ConsistencyReport report = new ConsistencyReport();
+        report.check(0, "/yepy/ilan/1001", "Apple iPhone 13  128 GB", 2_150_000,
+            "apple iphone 13 128 GB - Mükemmel", 2_150_000);
+
+        assertTrue(report.isConsistent());
+        assertEquals(1, report.getChecked());
+    }
+
+    @Test
+    public void collectsEveryMismatch() {
+        ConsistencyReport report = new ConsistencyReport();
+        report.check(0, "/yepy/ilan/1001", "Apple iPhone 13", 2_150_000, "Apple iPhone 13", 2_100_000);
+        report.check(1, "/yepy/ilan/1002", "Apple iPhone 12", 1_575_000, "Samsung Galaxy S21", 1_575_000);
+        report.unreachable(2, "/yepy/ilan/1003", "TimeoutException");
+
+        assertFalse(report.isConsistent());
+        assertEquals(3, report.getChecked());
+        assertEquals(3, report.getMismatches().size());
+        assertEquals(ConsistencyReport.Field.PRICE, report.getMismatches().get(0).getField());
+        assertEquals(ConsistencyReport.Field.TITLE, report.getMismatches().get(1).getField());
+        assertEquals(ConsistencyReport.Field.DETAIL_PAGE, report.getMismatches().get(2).getField());
+    }
+
+    @Test
+    public void emptyPageIsNotConsistent() {
+        assertFalse(new ConsistencyReport().isConsistent());
+        assertFalse(ConsistencyReport.titlesMatch("", "Apple iPhone 13"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.sahibinden.listing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListingSnapshotTest {
+
+    @Test
+    public void findsFirstOutOfOrderPriceSkippingUnpricedListings() {
+        ListingSnapshot listing = ListingSnapshot.builder(4)
+            .add("a", "10.000 TL")
+            .add("b", "fiyat yok")
+            .add("c", "12.000 TL")
+            .add("d", "11.500 TL")
+            .build();
+
+        assertEquals(3, listing.firstOutOfOrder(YepyListingQuery.Sort.PRICE_ASC));
+        assertEquals(2, listing.previousPriced(3));
+        assertEquals(2, listing.firstOutOfOrder(YepyListingQuery.Sort.PRICE_DESC));
+        assertEquals(3, listing.pricedCount());
+    }
+
+    @Test
+    public void checksOrderAcrossPageBoundary() {
+        ListingSnapshot first = ListingSnapshot.builder(2).add(null, "5.000 TL").add(null, "7.000 TL").build();
+        ListingSnapshot second = ListingSnapshot.builder(2).add(null, "6.500 TL").add(null, "8.000 TL").build();
+
+        assertEquals(ListingSnapshot.NONE, first.firstOutOfOrder(YepyListingQuery.Sort.PRICE_ASC));
+        assertEquals(700_000, first.lastPrice());
+        assertEquals(0, second.firstOutOfOrder(YepyListingQuery.Sort.PRICE_ASC, first.lastPrice()));
+        assertEquals(ListingSnapshot.NONE, second.previousPriced(0));
+    }
+
+    @Test
+    public void findsFirstPriceAboveThreshold() {
+        ListingSnapshot listing = ListingSnapshot.builder(2)
+            .add(null, "9.999 TL")
+            .add(null, "10.000,01 TL")
+            .build();
+
+        assertEquals(1, listing.firstAbove(TurkishPriceParser.toKurus(10_000)));
+        assertEquals(ListingSnapshot.NONE, listing.firstAbove(TurkishPriceParser.toKurus(11_000)));
+    }
+
+    @Test
+    public void growsPastExpectedSizeAndInternsTitles() {
+        ListingSnapshot.Builder builder = ListingSnapshot.builder(1);
+        for (int i = 0; i < 20; i++) {
+            builder.add(new String("Apple iPhone 13 "), i * 100L);
+        }
+        ListingSnapshot listing = builder.build();
+
+        assertEquals(20, listing.size());
+        assertSame(listing.title(0), listing.title(19));
+        assertEquals("Apple iPhone 13", listing.title(0));
+        assertEquals(ListingSnapshot.NONE, listing.firstOutOfOrder(YepyListingQuery.Sort.PRICE_ASC));
+    }
+}
@@ -0,0 +1,33 @@
+package com.sahibinden.listing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TurkishPriceParserTest {
+
+    @Test
+    public void parsesGroupedLiraAndKurus() {
+        assertEquals(1_250_000, TurkishPriceParser.parseKurus("12.500 TL"));
+        assertEquals(123_456, TurkishPriceParser.parseKurus("1.234,56 TL"));
+        assertEquals(3_299_990, TurkishPriceParser.parseKurus("32.999,9 TL"));
+        assertEquals(725_000, TurkishPriceParser.parseKurus("₺ 7.250"));
+        assertEquals(123_400, TurkishPriceParser.parseKurus("1234"));
+    }
+
+    @Test
+    public void stopsAtFirstCharacterOutsideTheAmount() {
+        assertEquals(1_250_000, TurkishPriceParser.parseKurus("12.500 TL 3 taksit"));
+    }
+
+    @Test
+    public void rejectsMissingOrMalformedAmounts() {
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus(null));
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus(""));
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus("TL"));
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus("12.50 TL"));
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus("1234.567"));
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus("1,234"));
+        assertEquals(TurkishPriceParser.INVALID, TurkishPriceParser.parseKurus("99999999999999999999"));
+    }
+}
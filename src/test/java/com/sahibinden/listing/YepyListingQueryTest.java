@@ -0,0 +1,36 @@
+package com.sahibinden.listing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class YepyListingQueryTest {
+
+    @Test
+    public void rendersBareListingWithoutFilters() {
+        assertEquals("https://www.sahibinden.com/yepy/yenilenmis-telefonlar",
+            YepyListingQuery.all().toUrl("https://www.sahibinden.com/"));
+    }
+
+    @Test
+    public void rendersBrandAsPathAndFiltersAsParameters() {
+        YepyListingQuery query = YepyListingQuery.builder()
+            .brand(" Apple ")
+            .minPrice(5000)
+            .maxPrice(10000)
+            .condition(YepyListingQuery.Condition.FAIR)
+            .sort(YepyListingQuery.Sort.PRICE_DESC)
+            .build();
+
+        assertEquals("/yepy/yenilenmis-telefonlar/apple?price_min=5000&price_max=10000&condition=fair&sorting=price_desc",
+            query.toPath());
+    }
+
+    @Test
+    public void rejectsInvertedOrNegativePriceRange() {
+        assertThrows(IllegalArgumentException.class,
+            () -> YepyListingQuery.builder().minPrice(20000).maxPrice(10000).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> YepyListingQuery.builder().maxPrice(-1));
+    }
+}
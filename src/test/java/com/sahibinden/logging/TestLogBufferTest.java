@@ -0,0 +1,80 @@
+package com.sahibinden.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLogBufferTest {
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> target = new ListAppender<>();
+    private final TestLogBuffer buffer = new TestLogBuffer();
+
+    @BeforeEach
+    public void startAppenders() {
+        target.setContext(context);
+        target.start();
+        buffer.setContext(context);
+        buffer.setCapacity(3);
+        buffer.addAppender(target);
+    }
+
+    @Test
+    public void holdsTestEventsUntilFlushed() {
+        buffer.openBuffer("[test:a]");
+        buffer.append(event("[test:a]", Level.INFO, "inside test"));
+        buffer.append(event(null, Level.INFO, "framework thread"));
+
+        assertEquals(1, target.list.size());
+        assertEquals("framework thread", target.list.get(0).getFormattedMessage());
+
+        TestLogBuffer.Summary summary = buffer.flushBuffer("[test:a]");
+        assertEquals(1, summary.getEvents());
+        assertEquals("inside test", target.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    public void discardKeepsOnlyCounts() {
+        buffer.openBuffer("[test:b]");
+        buffer.append(event("[test:b]", Level.WARN, "slow"));
+        buffer.append(event("[test:b]", Level.ERROR, "broken"));
+
+        TestLogBuffer.Summary summary = buffer.discardBuffer("[test:b]");
+
+        assertTrue(target.list.isEmpty());
+        assertEquals(1, summary.getWarnings());
+        assertEquals(1, summary.getErrors());
+    }
+
+    @Test
+    public void dropsOldestEventsBeyondCapacity() {
+        buffer.openBuffer("[test:c]");
+        for (int i = 0; i < 5; i++) {
+            buffer.append(event("[test:c]", Level.DEBUG, "event " + i));
+        }
+
+        TestLogBuffer.Summary summary = buffer.flushBuffer("[test:c]");
+
+        assertEquals(5, summary.getEvents());
+        assertEquals(2, summary.getDropped());
+        assertEquals(3, target.list.size());
+        assertEquals("event 2", target.list.get(0).getFormattedMessage());
+    }
+
+    private LoggingEvent event(String testId, Level level, String message) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(context);
+        event.setLoggerName("test");
+        event.setLevel(level);
+        event.setMessage(message);
+        event.setMDCPropertyMap(testId == null ? Map.of() : Map.of(TestLogBuffer.MDC_KEY, testId));
+        return event;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sahibinden.pages;
+
+import com.sahibinden.util.TimingRegistry;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class AdaptiveWaitTest {
+
+    private final WebDriver driver = mock(WebDriver.class);
+
+    @Test
+    public void returnsAsSoonAsConditionHolds() {
+        AtomicInteger polls = new AtomicInteger();
+
+        String value = new AdaptiveWait(driver, Duration.ofSeconds(5))
+            .withMessage("adaptive wait returns value")
+            .until(webDriver -> polls.incrementAndGet() < 3 ? null : "ready");
+
+        assertEquals("ready", value);
+        assertEquals(3, polls.get());
+        assertEquals(1, TimingRegistry.histogram("wait: adaptive wait returns value").getCount());
+    }
+
+    @Test
+    public void ignoresMissingElementsWhilePolling() {
+        AtomicInteger polls = new AtomicInteger();
+
+        Boolean found = new AdaptiveWait(driver, Duration.ofSeconds(5)).until(webDriver -> {
+            if (polls.incrementAndGet() < 2) {
+                throw new NoSuchElementException("not yet");
+            }
+            return true;
+        });
+
+        assertTrue(found);
+    }
+
+    @Test
+    public void unnamedWaitsShareOneHistogram() {
+        long before = TimingRegistry.histogram("wait: " + AdaptiveWait.UNNAMED).getCount();
+        for (int i = 0; i < 3; i++) {
+            int captured = i;
+            new AdaptiveWait(driver, Duration.ofSeconds(1)).until(webDriver -> captured >= 0);
+        }
+
+        assertTrue(TimingRegistry.histogram("wait: " + AdaptiveWait.UNNAMED).getCount() >= before + 3);
+        assertTrue(TimingRegistry.snapshot().keySet().stream().noneMatch(key -> key.contains("$$Lambda")),
+            "Capturing lambdas must not become histogram keys");
+    }
+
+    @Test
+    public void timesOutWithDescriptionAndLastError() {
+        long start = System.nanoTime();
+
+        TimeoutException error = assertThrows(TimeoutException.class,
+            () -> new AdaptiveWait(driver, Duration.ofMillis(300))
+                .withMessage("element that never appears")
+                .until(webDriver -> {
+                    throw new NoSuchElementException("missing");
+                }));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 300);
+        assertTrue(error.getMessage().contains("element that never appears"));
+        assertInstanceOf(NoSuchElementException.class, error.getCause());
+    }
+}
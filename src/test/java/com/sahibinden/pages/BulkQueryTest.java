@@ -0,0 +1,99 @@
+package com.sahibinden.pages;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkQueryTest {
+
+    private final BulkQuery query = BulkQuery.xpath("//div[@class='card']")
+        .text("title", ".//h2")
+        .attribute("id", null, "data-id")
+        .href("url", "a.title")
+        .visible("badge", ".badge");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void scriptArgumentListsEveryFieldInOrder() {
+        Map<String, Object> spec = query.toScriptArgument();
+
+        assertEquals("//div[@class='card']", spec.get("container"));
+        List<Map<String, Object>> fields = (List<Map<String, Object>>) spec.get("fields");
+        assertEquals(4, fields.size());
+        assertEquals(List.of("title", "id", "url", "badge"), fields.stream().map(f -> f.get("name")).toList());
+        assertEquals(List.of("TEXT", "ATTRIBUTE", "HREF", "VISIBLE"), fields.stream().map(f -> f.get("type")).toList());
+
+        assertEquals(".//h2", fields.get(0).get("selector"));
+        assertNull(fields.get(0).get("attribute"));
+        assertTrue(fields.get(1).containsKey("selector"), "A null selector must still be sent so the script reads the container");
+        assertNull(fields.get(1).get("selector"));
+        assertEquals("data-id", fields.get(1).get("attribute"));
+    }
+
+    @Test
+    public void rowsMapEachFieldByKind() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", "iPhone 13 128 GB");
+        values.put("id", "42");
+        values.put("url", "https://www.sahibinden.com/yepy/ilan/42");
+        values.put("badge", true);
+
+        BulkQuery.Row row = query.toRows(List.of(values)).get(0);
+
+        assertEquals(0, row.getIndex());
+        assertEquals("iPhone 13 128 GB", row.text("title"));
+        assertEquals("42", row.attribute("id"));
+        assertEquals("https://www.sahibinden.com/yepy/ilan/42", row.href("url"));
+        assertTrue(row.isVisible("badge"));
+    }
+
+    @Test
+    public void missingAndNullFieldsReadAsAbsent() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", null);
+        values.put("badge", false);
+
+        BulkQuery.Row row = query.toRows(List.of(values)).get(0);
+
+        assertNull(row.text("title"));
+        assertFalse(row.has("title"));
+        assertNull(row.attribute("id"));
+        assertNull(row.href("url"));
+        assertFalse(row.has("url"));
+        assertFalse(row.isVisible("badge"));
+    }
+
+    @Test
+    public void accessorMustMatchFieldKind() {
+        BulkQuery.Row row = query.toRows(List.of(Map.of("badge", true, "title", "x"))).get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> row.text("badge"));
+        assertThrows(IllegalArgumentException.class, () -> row.isVisible("title"));
+        assertThrows(IllegalArgumentException.class, () -> row.href("title"));
+    }
+
+    @Test
+    public void unexpectedResultsBecomeEmptyRows() {
+        assertTrue(query.toRows(null).isEmpty());
+        assertTrue(query.toRows("not a list").isEmpty());
+
+        List<BulkQuery.Row> rows = query.toRows(Arrays.asList(Map.of("title", "a"), null, "junk"));
+
+        assertEquals(3, rows.size());
+        assertEquals("a", rows.get(0).text("title"));
+        assertEquals(1, rows.get(1).getIndex());
+        assertFalse(rows.get(1).has("title"));
+        assertFalse(rows.get(2).isVisible("badge"));
+    }
+
+    @Test
+    public void containerXpathMustBeAbsolute() {
+        assertThrows(IllegalArgumentException.class, () -> BulkQuery.xpath(".//div"));
+        assertEquals("div.card", BulkQuery.css("div.card").getContainer());
+    }
+}
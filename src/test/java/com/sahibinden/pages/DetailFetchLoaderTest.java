@@ -0,0 +1,110 @@
+package com.sahibinden.pages;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class DetailFetchLoaderTest {
+    private static final Duration PREVIOUS_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+    private final JavascriptExecutor js = (JavascriptExecutor) driver;
+    private final WebDriver.Timeouts timeouts = mock(WebDriver.Timeouts.class);
+
+    DetailFetchLoaderTest() {
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(driver.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(timeouts.getScriptTimeout()).thenReturn(PREVIOUS_SCRIPT_TIMEOUT);
+    }
+
+    @Test
+    public void failedFetchIsReportedPerListing() {
+        when(js.executeAsyncScript(anyString(), any(), any())).thenReturn(Arrays.asList(
+            Map.of("title", "iPhone 13", "price", "20.000 TL"),
+            Map.of("error", "HTTP 404"),
+            null,
+            Map.of("error", "timeout")));
+
+        List<DetailPage> pages = loader(2).load(List.of("/ilan/0", "/ilan/1", "/ilan/2", "/ilan/3"));
+
+        assertEquals(4, pages.size());
+        assertTrue(pages.get(0).isLoaded());
+        assertEquals("iPhone 13", pages.get(0).getTitle());
+        assertEquals("20.000 TL", pages.get(0).getPrice());
+        assertEquals("HTTP 404", pages.get(1).getError());
+        assertEquals("no result", pages.get(2).getError());
+        assertEquals("timeout", pages.get(3).getError());
+        assertEquals("/ilan/3", pages.get(3).getUrl());
+    }
+
+    @Test
+    public void missingResultEntriesBecomeFailures() {
+        when(js.executeAsyncScript(anyString(), any(), any()))
+            .thenReturn(List.of(Map.of("title", "iPhone 13", "price", "20.000 TL")));
+
+        List<DetailPage> pages = loader(2).load(List.of("/ilan/0", "/ilan/1"));
+
+        assertTrue(pages.get(0).isLoaded());
+        assertFalse(pages.get(1).isLoaded());
+    }
+
+    @Test
+    public void scriptTimeoutCoversEveryRoundAndIsRestored() {
+        when(js.executeAsyncScript(anyString(), any(), any())).thenReturn(List.of());
+
+        loader(2).load(List.of("/ilan/0", "/ilan/1", "/ilan/2"));
+
+        InOrder order = inOrder(timeouts, js);
+        order.verify(timeouts).scriptTimeout(Duration.ofSeconds(4).plusSeconds(5));
+        order.verify(js).executeAsyncScript(anyString(), any(), any());
+        order.verify(timeouts).scriptTimeout(PREVIOUS_SCRIPT_TIMEOUT);
+    }
+
+    @Test
+    public void scriptTimeoutIsRestoredWhenScriptThrows() {
+        when(js.executeAsyncScript(anyString(), any(), any())).thenThrow(new ScriptTimeoutException("too slow"));
+
+        assertThrows(ScriptTimeoutException.class, () -> loader(2).load(List.of("/ilan/0")));
+
+        verify(timeouts).scriptTimeout(PREVIOUS_SCRIPT_TIMEOUT);
+    }
+
+    @Test
+    public void scriptLevelErrorFailsTheBatch() {
+        when(js.executeAsyncScript(anyString(), any(), any())).thenReturn(Map.of("error", "TypeError: fetch"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> loader(2).load(List.of("/ilan/0")));
+
+        assertTrue(e.getMessage().contains("TypeError: fetch"));
+        verify(timeouts).scriptTimeout(PREVIOUS_SCRIPT_TIMEOUT);
+    }
+
+    @Test
+    public void emptyBatchRunsNoScript() {
+        assertTrue(loader(2).load(List.of()).isEmpty());
+
+        verify(js, never()).executeAsyncScript(anyString(), any(), any());
+    }
+
+    private DetailFetchLoader loader(int concurrency) {
+        return new DetailFetchLoader(driver, concurrency, Duration.ofSeconds(2), "//h1", ".price");
+    }
+}
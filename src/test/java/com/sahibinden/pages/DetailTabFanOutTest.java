@@ -0,0 +1,169 @@
+package com.sahibinden.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class DetailTabFanOutTest {
+    private static final String ORIGIN = "origin";
+
+    private final FakeBrowser browser = new FakeBrowser();
+
+    @Test
+    public void loadsEveryUrlInOrder() {
+        List<String> urls = urls(5);
+
+        List<DetailPage> pages = loader(2).load(urls);
+
+        assertEquals(urls, pages.stream().map(DetailPage::getUrl).toList());
+        assertTrue(pages.stream().allMatch(DetailPage::isLoaded));
+        assertEquals("title /ilan/3", pages.get(3).getTitle());
+        assertEquals("price /ilan/3", pages.get(3).getPrice());
+    }
+
+    @Test
+    public void opensAtMostFanOutTabsAndReusesThem() {
+        loader(2).load(urls(5));
+
+        assertEquals(2, browser.opened, "Later batches must reuse the tabs of the first one");
+        assertEquals(2, browser.maxOpen);
+    }
+
+    @Test
+    public void fewerUrlsThanFanOutOpenOneTabPerUrl() {
+        loader(4).load(urls(2));
+
+        assertEquals(2, browser.opened);
+    }
+
+    @Test
+    public void closesEveryTabAndReturnsToOrigin() {
+        loader(3).load(urls(4));
+
+        assertEquals(Set.of(ORIGIN), browser.open);
+        assertEquals(ORIGIN, browser.current);
+    }
+
+    @Test
+    public void unreadablePageIsReportedWithoutFailingTheBatch() {
+        browser.unreadable.add("/ilan/1");
+
+        List<DetailPage> pages = loader(2).load(urls(3));
+
+        assertTrue(pages.get(0).isLoaded());
+        assertFalse(pages.get(1).isLoaded());
+        assertEquals("TimeoutException", pages.get(1).getError());
+        assertTrue(pages.get(2).isLoaded());
+    }
+
+    @Test
+    public void tabsAreClosedWhenNavigationFails() {
+        browser.navigationFailure = "/ilan/2";
+
+        assertThrows(WebDriverException.class, () -> loader(2).load(urls(4)));
+
+        assertEquals(Set.of(ORIGIN), browser.open);
+        assertEquals(ORIGIN, browser.current);
+    }
+
+    @Test
+    public void closeFailureDoesNotKeepOtherTabsOpen() {
+        browser.unclosable = "tab-1";
+
+        loader(3).load(urls(3));
+
+        assertEquals(Set.of(ORIGIN, "tab-1"), browser.open);
+        assertEquals(ORIGIN, browser.current);
+    }
+
+    private DetailTabFanOut loader(int fanOut) {
+        AdaptiveWait wait = new AdaptiveWait(browser.driver, Duration.ofMillis(50));
+        return new DetailTabFanOut(browser.driver, wait, fanOut, "//h1", ".price");
+    }
+
+    private static List<String> urls(int count) {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            urls.add("/ilan/" + i);
+        }
+        return urls;
+    }
+
+    /** Tracks window handles and the page each tab was sent to, the way a single Chrome session would. */
+    private static class FakeBrowser {
+        final WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        final Set<String> open = new LinkedHashSet<>(List.of(ORIGIN));
+        final Map<String, String> locations = new HashMap<>();
+        final Set<String> unreadable = new HashSet<>();
+        String navigationFailure;
+        String unclosable;
+        String current = ORIGIN;
+        int opened;
+        int maxOpen;
+
+        FakeBrowser() {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            WebDriver.TargetLocator locator = mock(WebDriver.TargetLocator.class);
+            when(driver.switchTo()).thenReturn(locator);
+            when(driver.getWindowHandle()).thenAnswer(invocation -> current);
+            when(locator.newWindow(WindowType.TAB)).thenAnswer(invocation -> {
+                opened++;
+                current = "tab-" + opened;
+                open.add(current);
+                maxOpen = Math.max(maxOpen, open.size() - 1);
+                return driver;
+            });
+            when(locator.window(anyString())).thenAnswer(invocation -> {
+                String handle = invocation.getArgument(0);
+                if (!open.contains(handle)) {
+                    throw new NoSuchWindowException(handle);
+                }
+                current = handle;
+                return driver;
+            });
+            doAnswer(invocation -> {
+                if (current.equals(unclosable)) {
+                    throw new WebDriverException("cannot close " + current);
+                }
+                open.remove(current);
+                return null;
+            }).when(driver).close();
+            when(js.executeScript(eq(DetailTabFanOut.NAVIGATE_SCRIPT), any())).thenAnswer(invocation -> {
+                String url = invocation.getArgument(1);
+                if (url.equals(navigationFailure)) {
+                    throw new WebDriverException("navigation failed");
+                }
+                locations.put(current, url);
+                return null;
+            });
+            when(js.executeScript(eq(DetailTabFanOut.READ_SCRIPT), any(), any())).thenAnswer(invocation -> {
+                String url = locations.get(current);
+                if (url == null || unreadable.contains(url)) {
+                    return null;
+                }
+                return Map.of("title", "title " + url, "price", "price " + url);
+            });
+        }
+    }
+}
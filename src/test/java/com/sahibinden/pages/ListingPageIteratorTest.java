@@ -0,0 +1,203 @@
+package com.sahibinden.pages;
+
+import com.sahibinden.listing.ListingSnapshot;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListingPageIteratorTest {
+    private static final String PAGE_1 = "https://www.sahibinden.com/yepy/yenilenmis-telefonlar";
+    private static final String PAGE_2 = PAGE_1 + "?pagingOffset=20";
+    private static final String PAGE_3 = PAGE_1 + "?pagingOffset=40";
+
+    private static final BulkQuery PRICES = BulkQuery.xpath("//price").text("price", ".//span");
+
+    /** Answers the iterator's scripts from canned pages keyed by URL, as the browser would. */
+    private static class FakeBrowser implements JavascriptExecutor {
+        final Map<String, Map<String, Object>> pages = new HashMap<>();
+        final List<String> prefetched = new ArrayList<>();
+        int clears;
+        boolean failClear;
+
+        void page(String url, String next, String... prices) {
+            Map<String, Object> page = new HashMap<>();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (String price : prices) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("price", price);
+                rows.add(row);
+            }
+            page.put("rows", rows);
+            page.put("next", next);
+            pages.put(url, page);
+        }
+
+        void failing(String url, String error) {
+            pages.put(url, Map.of("error", error));
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            if (script.equals("return location.href;")) {
+                return PAGE_1;
+            }
+            if (script.equals(ListingPageIterator.LIVE_PAGE_SCRIPT)) {
+                assertQueryArguments(args);
+                return pages.get(PAGE_1);
+            }
+            if (script.equals(ListingPageIterator.PREFETCH_SCRIPT)) {
+                prefetched.add((String) args[0]);
+                return null;
+            }
+            if (script.equals(ListingPageIterator.CLEAR_SCRIPT)) {
+                clears++;
+                if (failClear) {
+                    throw new WebDriverException("window closed");
+                }
+                return null;
+            }
+            throw new IllegalArgumentException("Unexpected script: " + script);
+        }
+
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            assertEquals(ListingPageIterator.COLLECT_SCRIPT, script);
+            assertQueryArguments(args);
+            if (prefetched.isEmpty()) {
+                return Map.of("error", "no prefetch in flight");
+            }
+            return pages.get(prefetched.get(prefetched.size() - 1));
+        }
+    }
+
+    private static void assertQueryArguments(Object[] args) {
+        assertEquals(PRICES.toScriptArgument(), args[0]);
+        assertTrue(String.valueOf(args[1]).contains("a[rel='next']"), String.valueOf(args[1]));
+    }
+
+    private final FakeBrowser browser = new FakeBrowser();
+
+    private List<ListingSnapshot> walk(ListingPageIterator pages) {
+        List<ListingSnapshot> snapshots = new ArrayList<>();
+        while (pages.hasNext()) {
+            snapshots.add(pages.next());
+        }
+        return snapshots;
+    }
+
+    private ListingPageIterator iterator(int maxPages) {
+        return new ListingPageIterator(browser, PRICES, "price", maxPages);
+    }
+
+    @Test
+    public void walksEveryPageUntilTheLastHasNoNextLink() {
+        browser.page(PAGE_1, PAGE_2, "30.000 TL", "25.000 TL");
+        browser.page(PAGE_2, PAGE_3, "20.000 TL");
+        browser.page(PAGE_3, null, "15.000 TL", "10.000 TL");
+
+        try (ListingPageIterator pages = iterator(10)) {
+            List<ListingSnapshot> snapshots = walk(pages);
+
+            assertEquals(3, snapshots.size());
+            assertEquals(3_000_000, snapshots.get(0).price(0));
+            assertEquals(2_000_000, snapshots.get(1).price(0));
+            assertEquals(1_000_000, snapshots.get(2).lastPrice());
+            assertEquals(List.of(PAGE_2, PAGE_3), browser.prefetched, "Each later page is prefetched once");
+            assertEquals(3, pages.getPageNumber());
+            assertEquals(PAGE_3, pages.getCurrentUrl());
+            assertThrows(java.util.NoSuchElementException.class, pages::next);
+        }
+        assertEquals(1, browser.clears);
+    }
+
+    @Test
+    public void liveAndPrefetchedPagesAreReadWithTheBulkQueryExtractor() {
+        assertTrue(ListingPageIterator.LIVE_PAGE_SCRIPT.startsWith(BulkQuery.FUNCTION));
+        assertTrue(ListingPageIterator.COLLECT_SCRIPT.startsWith(BulkQuery.FUNCTION));
+    }
+
+    @Test
+    public void rowWithoutPriceIsKeptUnpriced() {
+        browser.page(PAGE_1, null, "30.000 TL", null);
+
+        try (ListingPageIterator pages = iterator(10)) {
+            ListingSnapshot snapshot = pages.next();
+
+            assertEquals(2, snapshot.size());
+            assertEquals(1, snapshot.pricedCount());
+        }
+    }
+
+    @Test
+    public void emptyNextPageEndsTheWalk() {
+        browser.page(PAGE_1, PAGE_2, "30.000 TL");
+        browser.page(PAGE_2, null);
+
+        try (ListingPageIterator pages = iterator(10)) {
+            List<ListingSnapshot> snapshots = walk(pages);
+
+            assertEquals(2, snapshots.size());
+            assertTrue(snapshots.get(1).isEmpty());
+            assertEquals(0, snapshots.get(1).pricedCount());
+        }
+    }
+
+    @Test
+    public void prefetchFailureNamesThePageAndUrl() {
+        browser.page(PAGE_1, PAGE_2, "30.000 TL");
+        browser.failing(PAGE_2, "Error: HTTP 503");
+
+        try (ListingPageIterator pages = iterator(10)) {
+            pages.next();
+            IllegalStateException error = assertThrows(IllegalStateException.class, pages::next);
+
+            assertTrue(error.getMessage().contains("page 2"), error.getMessage());
+            assertTrue(error.getMessage().contains(PAGE_2), error.getMessage());
+            assertTrue(error.getMessage().contains("HTTP 503"), error.getMessage());
+        }
+    }
+
+    @Test
+    public void stopsAtMaxPagesWithoutPrefetchingBeyondIt() {
+        browser.page(PAGE_1, PAGE_2, "30.000 TL");
+        browser.page(PAGE_2, PAGE_3, "20.000 TL");
+        browser.page(PAGE_3, null, "10.000 TL");
+
+        try (ListingPageIterator pages = iterator(2)) {
+            List<ListingSnapshot> snapshots = walk(pages);
+
+            assertEquals(2, snapshots.size());
+            assertEquals(List.of(PAGE_2), browser.prefetched);
+            assertFalse(pages.hasNext());
+        }
+    }
+
+    @Test
+    public void singlePageListingNeverPrefetches() {
+        browser.page(PAGE_1, null, "30.000 TL");
+
+        try (ListingPageIterator pages = iterator(0)) {
+            assertEquals(1, walk(pages).size());
+            assertTrue(browser.prefetched.isEmpty());
+        }
+    }
+
+    @Test
+    public void closeIgnoresClearFailure() {
+        browser.page(PAGE_1, null, "30.000 TL");
+        browser.failClear = true;
+
+        ListingPageIterator pages = iterator(10);
+        pages.next();
+
+        assertDoesNotThrow(pages::close);
+        assertEquals(1, browser.clears);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sahibinden.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Interactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+public class PageBindersTest {
+
+    private final WebDriver driver = mock(WebDriver.class,
+        withSettings().extraInterfaces(JavascriptExecutor.class, Interactive.class));
+
+    @Test
+    public void createsPageAndBindsFieldsOfEveryClassInItsHierarchy() {
+        YepyNavigationPage page = PageBinders.create(YepyNavigationPage.class, driver);
+
+        assertInstanceOf(LazyElement.class, page.acceptCookiesButton, "BasePage fields come from BasePage_Elements");
+        assertInstanceOf(LazyElement.class, page.cloudflareFrame);
+        assertEquals(BasePage_Elements.ACCEPT_COOKIES_BUTTON, ((LazyElement) page.acceptCookiesButton).getLocator());
+    }
+
+    @Test
+    public void pageWithoutGeneratedBinderCannotBeCreated() {
+        assertThrows(IllegalArgumentException.class, () -> PageBinders.create(UnboundPage.class, driver));
+    }
+
+    @Test
+    public void pageWithoutGeneratedBinderStillGetsInheritedFields() {
+        UnboundPage page = new UnboundPage(driver);
+
+        assertInstanceOf(LazyElement.class, page.locationDismissButton);
+    }
+
+    static class UnboundPage extends BasePage {
+        UnboundPage(WebDriver driver) {
+            super(driver);
+        }
+    }
+}
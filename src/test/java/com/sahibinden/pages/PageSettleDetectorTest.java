@@ -0,0 +1,68 @@
+package com.sahibinden.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PageSettleDetectorTest {
+
+    private final JavascriptExecutor js = mock(JavascriptExecutor.class);
+
+    @Test
+    public void passesQuietWindowAndTimeoutToScript() {
+        when(js.executeAsyncScript(PageSettleDetector.AWAIT_SCRIPT, 300L, 5000L))
+            .thenReturn(Map.of("settled", true, "waited", 420L, "pending", 0L, "mutations", 17L));
+
+        PageSettleDetector.SettleResult result =
+            PageSettleDetector.awaitSettled(js, Duration.ofMillis(300), Duration.ofSeconds(5));
+
+        assertTrue(result.isSettled());
+        assertEquals(420, result.getWaitedMillis());
+        assertEquals(17, result.getMutations());
+    }
+
+    @Test
+    public void reportsPendingRequestsWhenNotSettled() {
+        when(js.executeAsyncScript(eq(PageSettleDetector.AWAIT_SCRIPT), eq(500L), eq(1000L)))
+            .thenReturn(Map.of("settled", false, "waited", 1000L, "pending", 2L, "mutations", 3L));
+
+        PageSettleDetector.SettleResult result =
+            PageSettleDetector.awaitSettled(js, Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        assertFalse(result.isSettled());
+        assertEquals(2, result.getPendingRequests());
+    }
+
+    @Test
+    public void treatsUnexpectedScriptResultAsNotSettled() {
+        PageSettleDetector.SettleResult result =
+            PageSettleDetector.awaitSettled(js, Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        assertFalse(result.isSettled());
+        assertEquals(0, result.getWaitedMillis());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void registersTrackerToRunBeforePageScripts() {
+        DevTools devTools = mock(DevTools.class);
+
+        PageSettleDetector.installOnNewDocument(devTools);
+
+        ArgumentCaptor<Command<?>> command = ArgumentCaptor.forClass(Command.class);
+        verify(devTools).send(command.capture());
+        assertEquals("Page.addScriptToEvaluateOnNewDocument", command.getValue().getMethod());
+        assertEquals(PageSettleDetector.INSTALL_SCRIPT, command.getValue().getParams().get("source"));
+    }
+}
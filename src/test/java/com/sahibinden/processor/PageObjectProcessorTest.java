@@ -0,0 +1,110 @@
+package com.sahibinden.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageObjectProcessorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    public void generatesBinderForPage() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(
+            "package com.sahibinden.pages;\n" +
+            "import java.util.List;\n" +
+            "import org.openqa.selenium.WebDriver;\n" +
+            "import org.openqa.selenium.WebElement;\n" +
+            "import org.openqa.selenium.support.FindBy;\n" +
+            "public class SamplePage extends BasePage {\n" +
+            "    static final String ROW = \"div.row\";\n" +
+            "    @FindBy(id = \"search\") WebElement searchBox;\n" +
+            "    @FindBy(css = ROW) List<WebElement> mobileRows;\n" +
+            "    public SamplePage(WebDriver driver) { super(driver); }\n" +
+            "}\n");
+
+        assertTrue(diagnostics.getDiagnostics().stream().noneMatch(d -> d.getKind() == Diagnostic.Kind.ERROR),
+            diagnostics.getDiagnostics().toString());
+
+        String binder = Files.readString(output.resolve("com/sahibinden/pages/SamplePage_Elements.java"));
+        assertTrue(binder.contains("SEARCH_BOX = org.openqa.selenium.By.id(\"search\")"));
+        assertTrue(binder.contains("MOBILE_ROWS = org.openqa.selenium.By.cssSelector(\"div.row\")"));
+        assertTrue(binder.contains("page.mobileRows = new com.sahibinden.pages.LazyElementList(context, MOBILE_ROWS)"));
+        assertTrue(binder.contains("implements com.sahibinden.pages.PageBinder<com.sahibinden.pages.SamplePage>"));
+        assertTrue(binder.contains("return new com.sahibinden.pages.SamplePage(driver)"));
+        assertFalse(Files.exists(output.resolve("com/sahibinden/pages/GeneratedPages.java")),
+            "Binders must not depend on an aggregate registry rebuilt from one round");
+    }
+
+    @Test
+    public void generatesBinderForPageWithoutFields() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(
+            "package com.sahibinden.pages;\n" +
+            "import org.openqa.selenium.WebDriver;\n" +
+            "public abstract class SamplePage extends BasePage {\n" +
+            "    public SamplePage(WebDriver driver) { super(driver); }\n" +
+            "}\n");
+
+        assertTrue(diagnostics.getDiagnostics().stream().noneMatch(d -> d.getKind() == Diagnostic.Kind.ERROR),
+            diagnostics.getDiagnostics().toString());
+
+        String binder = Files.readString(output.resolve("com/sahibinden/pages/SamplePage_Elements.java"));
+        assertTrue(binder.contains("public void bind(com.sahibinden.pages.SamplePage page"));
+        assertTrue(binder.contains("throw new UnsupportedOperationException"));
+    }
+
+    @Test
+    public void rejectsPrivateFields() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(
+            "package com.sahibinden.pages;\n" +
+            "import org.openqa.selenium.WebDriver;\n" +
+            "import org.openqa.selenium.WebElement;\n" +
+            "import org.openqa.selenium.support.FindBy;\n" +
+            "public class SamplePage extends BasePage {\n" +
+            "    @FindBy(id = \"search\") private WebElement searchBox;\n" +
+            "    public SamplePage(WebDriver driver) { super(driver); }\n" +
+            "}\n");
+
+        assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR
+            && d.getMessage(null).contains("non-private")));
+    }
+
+    @Test
+    public void convertsFieldNamesToConstants() {
+        assertEquals("MOBILE_SORTING_DROPDOWN", PageObjectProcessor.toConstantName("mobileSortingDropdown"));
+        assertEquals("PHONE_LIST", PageObjectProcessor.toConstantName("phoneList"));
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///com/sahibinden/pages/SamplePage.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = List.of(
+            "-proc:only",
+            "-classpath", System.getProperty("java.class.path"),
+            "-s", output.toString());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(file));
+        task.setProcessors(List.of(new PageObjectProcessor()));
+        task.call();
+        return diagnostics;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sahibinden.tests;
 
 import com.sahibinden.base.BaseTest;
+import com.sahibinden.listing.YepyListingQuery;
 import com.sahibinden.pages.YepyNavigationPage;
 import com.sahibinden.pages.YepyFilterPage;
 import com.sahibinden.pages.YepyProductPage;
@@ -8,17 +9,11 @@ import org.junit.jupiter.api.*;
 import org.openqa.selenium.WebDriver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.TestPropertySource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
-@ActiveProfiles("responsive-test")
-@TestPropertySource(locations = "classpath:application-responsive-test.properties")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DisplayName("Yepy Mobile Tests")
 @Tag("mobile")
@@ -38,20 +33,33 @@ public class YepyResponsiveTest extends BaseTest {
     @Autowired
     private YepyProductPage productPage;
 
+    private boolean restored;
+
     @BeforeEach
     protected void setUp() {
         logger.info("Setting up YepyResponsiveTest");
         driver = webDriver;
         super.setUp();
-        navigationPage.navigateToHomePage();
-        navigationPage.acceptCookies();
+        restored = restoreSession();
+        if (!restored) {
+            navigationPage.navigateToHomePage();
+            navigationPage.acceptCookies();
+            captureSession();
+        }
         logger.info("YepyResponsiveTest setup completed");
     }
 
+    private void openHomePage() {
+        if (restored) {
+            assertTrue(navigationPage.navigateToHomePage(), "Failed to open home page in mobile view");
+        }
+    }
+
     @Test
     @Order(1)
     @DisplayName("Should navigate to Yepy Refurbished Phones page in mobile view")
     public void shouldNavigateToYepyRefurbishedPhones() {
+        openHomePage();
         assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
             "Failed to navigate to Refurbished Phones section in mobile view");
         takeScreenshot("mobile_refurbished_phones_page");
@@ -61,8 +69,8 @@ public class YepyResponsiveTest extends BaseTest {
     @Order(2)
     @DisplayName("Should sort phones by price high to low in mobile view")
     public void shouldSortPhonesByPriceHighToLow() {
-        assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
-            "Failed to navigate to Refurbished Phones section in mobile view");
+        assertTrue(filterPage.openListing(YepyListingQuery.all()),
+            "Failed to open Refurbished Phones listing in mobile view");
         
         assertTrue(filterPage.sortByPrice(YepyFilterPage.SortOrder.HIGH_TO_LOW), 
             "Failed to sort by price high to low in mobile view");
@@ -76,11 +84,10 @@ public class YepyResponsiveTest extends BaseTest {
     @Order(3)
     @DisplayName("Should sort phones by price low to high in mobile view")
     public void shouldSortPhonesByPriceLowToHigh() {
-        assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
-            "Failed to navigate to Refurbished Phones section in mobile view");
-        
-        assertTrue(filterPage.sortByPrice(YepyFilterPage.SortOrder.LOW_TO_HIGH), 
-            "Failed to sort by price low to high in mobile view");
+        assertTrue(filterPage.openListing(YepyListingQuery.builder()
+                .sort(YepyFilterPage.SortOrder.LOW_TO_HIGH.toListingSort())
+                .build()),
+            "Failed to open listing sorted by price low to high in mobile view");
         
         assertTrue(filterPage.verifyPriceSorting(YepyFilterPage.SortOrder.LOW_TO_HIGH), 
             "Prices are not sorted low to high in mobile view");
@@ -91,8 +98,8 @@ public class YepyResponsiveTest extends BaseTest {
     @Order(4)
     @DisplayName("Should filter phones by maximum price in mobile view")
     public void shouldFilterPhonesByMaximumPrice() {
-        assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
-            "Failed to navigate to Refurbished Phones section in mobile view");
+        assertTrue(filterPage.openListing(YepyListingQuery.all()),
+            "Failed to open Refurbished Phones listing in mobile view");
         
         assertTrue(filterPage.setMaximumPriceFilter("10000"), 
             "Failed to set maximum price filter in mobile view");
@@ -106,11 +113,8 @@ public class YepyResponsiveTest extends BaseTest {
     @Order(5)
     @DisplayName("Should filter and verify Apple phones in mobile view")
     public void shouldFilterAndVerifyApplePhones() {
-        assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
-            "Failed to navigate to Refurbished Phones section in mobile view");
-        
-        assertTrue(filterPage.clickApplePhoneFilter(), 
-            "Failed to apply Apple phone filter in mobile view");
+        assertTrue(filterPage.openListing(YepyListingQuery.builder().brand("apple").build()),
+            "Failed to open Apple phone listing in mobile view");
         
         assertTrue(productPage.verifyAllPhonesAreApple(), 
             "Not all phones are Apple products in mobile view");
@@ -121,10 +125,10 @@ public class YepyResponsiveTest extends BaseTest {
     @Order(6)
     @DisplayName("Should verify price consistency between listing and detail pages in mobile view")
     public void shouldVerifyPriceConsistency() {
-        assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
-            "Failed to navigate to Refurbished Phones section in mobile view");
+        assertTrue(filterPage.openListing(YepyListingQuery.all()),
+            "Failed to open Refurbished Phones listing in mobile view");
         
-        assertTrue(productPage.verifyPriceConsistency(), 
+        assertTrue(productPage.verifyListingConsistency(), 
             "Prices are not consistent between listing and detail pages in mobile view");
         takeScreenshot("mobile_price_consistency");
     }
@@ -133,8 +137,8 @@ public class YepyResponsiveTest extends BaseTest {
     @Order(7)
     @DisplayName("Should filter phones by fair condition in mobile view")
     public void shouldFilterPhonesByFairCondition() {
-        assertTrue(navigationPage.navigateToRefurbishedPhonesSection("mobile"), 
-            "Failed to navigate to Refurbished Phones section in mobile view");
+        assertTrue(filterPage.openListing(YepyListingQuery.all()),
+            "Failed to open Refurbished Phones listing in mobile view");
         assertTrue(filterPage.filterMobileFairConditionPhones(), 
             "Failed to filter phones by fair condition in mobile view");
         assertTrue(filterPage.verifyMobileFairConditionFilterApplied(), 
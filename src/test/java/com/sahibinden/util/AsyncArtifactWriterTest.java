@@ -0,0 +1,64 @@
+package com.sahibinden.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncArtifactWriterTest {
+
+    @Test
+    void writesQueuedArtifactsBeforeClosing(@TempDir Path directory) throws Exception {
+        AsyncArtifactWriter writer = new AsyncArtifactWriter("artifact", 4, 1000);
+        for (int i = 0; i < 10; i++) {
+            String content = "shot " + i;
+            writer.submit(directory.resolve("nested").resolve("shot" + i + ".txt"), () -> content.getBytes(StandardCharsets.UTF_8));
+        }
+        writer.close();
+
+        assertEquals(10, writer.getStats().getWritten());
+        assertEquals("shot 7", Files.readString(directory.resolve("nested").resolve("shot7.txt")));
+    }
+
+    @Test
+    void writesInlineWhenQueueStaysFull(@TempDir Path directory) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AsyncArtifactWriter writer = new AsyncArtifactWriter("artifact", 1, 50);
+        writer.submit(directory.resolve("slow.txt"), () -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new byte[] {1};
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        writer.submit(directory.resolve("queued.txt"), () -> new byte[] {2});
+        writer.submit(directory.resolve("inline.txt"), () -> new byte[] {3});
+
+        assertTrue(Files.exists(directory.resolve("inline.txt")));
+        release.countDown();
+        writer.close();
+
+        AsyncArtifactWriter.Stats stats = writer.getStats();
+        assertEquals(3, stats.getWritten());
+        assertEquals(1, stats.getBlocked());
+        assertEquals(1, stats.getInline());
+    }
+
+    @Test
+    void countsFailedContent(@TempDir Path directory) {
+        AsyncArtifactWriter writer = new AsyncArtifactWriter("artifact", 2, 100);
+        writer.submit(directory.resolve("broken.txt"), () -> {
+            throw new IllegalStateException("decode failed");
+        });
+        writer.close();
+
+        assertEquals(1, writer.getStats().getFailed());
+        assertFalse(Files.exists(directory.resolve("broken.txt")));
+    }
+}
@@ -0,0 +1,152 @@
+package com.sahibinden.util;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepRetryTest {
+    private final StepRetry retry = new StepRetry(3, Duration.ofMillis(1), Duration.ofMillis(4));
+
+    @Test
+    void classifiesByCauseChain() {
+        assertEquals(FailureKind.TIMEOUT, FailureKind.classify(new RuntimeException(new TimeoutException("wait"))));
+        assertEquals(FailureKind.STALE_ELEMENT, FailureKind.classify(new StaleElementReferenceException("gone")));
+        assertEquals(FailureKind.INTERACTION, FailureKind.classify(new ElementClickInterceptedException("covered")));
+        assertEquals(FailureKind.NOT_FOUND, FailureKind.classify(new NoSuchElementException("missing")));
+        assertEquals(FailureKind.ASSERTION, FailureKind.classify(new AssertionError("expected")));
+        assertEquals(FailureKind.OTHER, FailureKind.classify(new IllegalStateException("bug")));
+        assertEquals(FailureKind.SESSION, FailureKind.classify(new WebDriverException("chrome not reachable")));
+    }
+
+    @Test
+    void sessionFailureWinsOverOuterTimeout() {
+        TimeoutException timeout = new TimeoutException("wait", new NoSuchSessionException("invalid session id"));
+        assertEquals(FailureKind.SESSION, FailureKind.classify(timeout));
+    }
+
+    @Test
+    void retriesTransientFailureUntilItSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+        String result = retry.run("flaky click", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("gone");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, TimingRegistry.histogram("retry: flaky click").getCount());
+    }
+
+    @Test
+    void onlyStaleElementsAndInteractionsAreRetryableByDefault() {
+        assertTrue(FailureKind.STALE_ELEMENT.isRetryable());
+        assertTrue(FailureKind.INTERACTION.isRetryable());
+        assertFalse(FailureKind.TIMEOUT.isRetryable());
+        assertFalse(FailureKind.NOT_FOUND.isRetryable());
+        assertFalse(FailureKind.SESSION.isRetryable());
+        assertFalse(FailureKind.ASSERTION.isRetryable());
+    }
+
+    @Test
+    void timeoutIsNotRetriedUnlessStepOptsIn() {
+        AtomicInteger calls = new AtomicInteger();
+        StepRetry.StepFailedException failure = assertThrows(StepRetry.StepFailedException.class,
+            () -> retry.run("slow wait", () -> {
+                calls.incrementAndGet();
+                throw new TimeoutException("not yet");
+            }));
+
+        assertEquals(1, calls.get());
+        assertEquals(FailureKind.TIMEOUT, failure.getKind());
+    }
+
+    @Test
+    void timeoutIsRetriedWhenStepOptsIn() {
+        AtomicInteger calls = new AtomicInteger();
+        String result = retry.run("flaky wait", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new TimeoutException("not yet");
+            }
+            return "done";
+        }, true);
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void missingElementIsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        StepRetry.StepFailedException failure = assertThrows(StepRetry.StepFailedException.class,
+            () -> retry.run("find badge", () -> {
+                calls.incrementAndGet();
+                throw new NoSuchElementException("missing");
+            }));
+
+        assertEquals(1, calls.get());
+        assertEquals(FailureKind.NOT_FOUND, failure.getKind());
+    }
+
+    @Test
+    void givesUpAfterRetryCount() {
+        AtomicInteger calls = new AtomicInteger();
+        StepRetry.StepFailedException failure = assertThrows(StepRetry.StepFailedException.class,
+            () -> retry.run("always stale", () -> {
+                calls.incrementAndGet();
+                throw new StaleElementReferenceException("gone");
+            }));
+
+        assertEquals(4, calls.get());
+        assertEquals(4, failure.getAttempts());
+        assertEquals(FailureKind.STALE_ELEMENT, failure.getKind());
+    }
+
+    @Test
+    void doesNotRetrySessionFailuresButRecordsThem() {
+        StepRetry.clearSessionFailure();
+        AtomicInteger calls = new AtomicInteger();
+        StepRetry.StepFailedException failure = assertThrows(StepRetry.StepFailedException.class,
+            () -> retry.run("dead session", () -> {
+                calls.incrementAndGet();
+                throw new NoSuchSessionException("invalid session id");
+            }));
+
+        assertEquals(1, calls.get());
+        assertEquals(FailureKind.SESSION, failure.getKind());
+        assertTrue(StepRetry.takeSessionFailure().isPresent());
+        assertTrue(StepRetry.takeSessionFailure().isEmpty());
+    }
+
+    @Test
+    void nestedStepFailureIsNotRetriedAgain() {
+        AtomicInteger inner = new AtomicInteger();
+        assertThrows(StepRetry.StepFailedException.class, () -> retry.run("outer", () ->
+            retry.run("inner", () -> {
+                inner.incrementAndGet();
+                throw new StaleElementReferenceException("gone");
+            })));
+
+        assertEquals(4, inner.get());
+    }
+
+    @Test
+    void backoffStaysUnderCeiling() {
+        StepRetry slow = new StepRetry(5, Duration.ofMillis(100), Duration.ofMillis(300));
+        for (int retry = 1; retry <= 5; retry++) {
+            long millis = slow.backoff(retry).toMillis();
+            assertTrue(millis <= 300, "backoff " + millis);
+        }
+        assertTrue(slow.backoff(1).toMillis() >= 50);
+    }
+}
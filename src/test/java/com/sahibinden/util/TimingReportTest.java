@@ -0,0 +1,59 @@
+package com.sahibinden.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingReportTest {
+
+    @Test
+    void tableIsSortedByTotalTime() {
+        LatencyHistogram fast = histogram("step: fast", 10, Duration.ofMillis(5));
+        LatencyHistogram slow = histogram("step: slow", 2, Duration.ofMillis(400));
+
+        String table = TimingReport.toTable(List.of(slow, fast));
+        String[] lines = table.split(System.lineSeparator());
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("Step"));
+        assertTrue(lines[1].startsWith("step: slow"));
+        assertTrue(lines[2].startsWith("step: fast"));
+    }
+
+    @Test
+    void writesJsonAndTable(@TempDir Path directory) throws Exception {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        histograms.put("step: fast", histogram("step: fast", 10, Duration.ofMillis(5)));
+        histograms.put("navigation: listing", histogram("navigation: listing", 3, Duration.ofMillis(900)));
+
+        TimingReport.write(histograms, directory);
+
+        String json = Files.readString(directory.resolve(TimingReport.JSON_FILE));
+        assertTrue(json.indexOf("navigation: listing") < json.indexOf("step: fast"));
+        assertTrue(json.contains("\"p99Ms\""));
+        assertTrue(Files.readString(directory.resolve(TimingReport.TABLE_FILE)).contains("navigation: listing"));
+    }
+
+    @Test
+    void skipsEmptyRegistry(@TempDir Path directory) {
+        TimingReport.write(Map.of(), directory.resolve("timings"));
+
+        assertFalse(Files.exists(directory.resolve("timings")));
+    }
+
+    private static LatencyHistogram histogram(String name, int count, Duration each) {
+        LatencyHistogram histogram = new LatencyHistogram(name);
+        for (int i = 0; i < count; i++) {
+            histogram.record(each);
+        }
+        return histogram;
+    }
+}